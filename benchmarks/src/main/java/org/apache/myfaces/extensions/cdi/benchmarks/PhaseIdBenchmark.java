@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PhaseIdBenchmark
+{
+    private final javax.faces.event.PhaseId[] facesPhaseIds = {
+            javax.faces.event.PhaseId.RESTORE_VIEW,
+            javax.faces.event.PhaseId.APPLY_REQUEST_VALUES,
+            javax.faces.event.PhaseId.PROCESS_VALIDATIONS,
+            javax.faces.event.PhaseId.UPDATE_MODEL_VALUES,
+            javax.faces.event.PhaseId.INVOKE_APPLICATION,
+            javax.faces.event.PhaseId.RENDER_RESPONSE,
+            javax.faces.event.PhaseId.ANY_PHASE};
+
+    //all phases of a request
+    @Benchmark
+    public void convertFromFacesClass(Blackhole blackhole)
+    {
+        for(javax.faces.event.PhaseId facesPhaseId : this.facesPhaseIds)
+        {
+            blackhole.consume(PhaseId.convertFromFacesClass(facesPhaseId));
+        }
+    }
+}
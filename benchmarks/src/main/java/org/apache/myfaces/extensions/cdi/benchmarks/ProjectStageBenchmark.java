@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageResolver;
+import org.apache.myfaces.extensions.cdi.core.impl.project.config.InitParameterConfigManager;
+import org.apache.myfaces.extensions.cdi.core.impl.project.stage.ApplicationProjectStageResolver;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.project.stage.JsfProjectStage;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.stage.JsfProjectStageBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProjectStageBenchmark
+{
+    private ProjectStageResolver projectStageResolver;
+
+    //instances which are used by the container to call the producer methods
+    private ProjectStage projectStageProducer;
+
+    private JsfProjectStageBuilder jsfProjectStageProducer;
+
+    private ProjectStage projectStage;
+
+    private JsfProjectStage jsfProjectStage;
+
+    @Setup
+    public void init()
+    {
+        this.projectStageResolver = new ApplicationProjectStageResolver(new InitParameterConfigManager());
+        this.projectStageProducer = new ProjectStage()
+        {
+            private static final long serialVersionUID = -6532718413367349212L;
+        };
+        this.jsfProjectStageProducer = new JsfProjectStageBuilder()
+        {
+            private static final long serialVersionUID = 4208716545916283402L;
+        };
+
+        this.projectStage = this.projectStageProducer.createProjectStage(this.projectStageResolver);
+        this.jsfProjectStage = this.jsfProjectStageProducer.createJsfProjectStage(this.projectStage);
+    }
+
+    @Benchmark
+    public ProjectStage produceProjectStage()
+    {
+        return this.projectStageProducer.createProjectStage(this.projectStageResolver);
+    }
+
+    @Benchmark
+    public JsfProjectStage produceJsfProjectStage()
+    {
+        return this.jsfProjectStageProducer.createJsfProjectStage(
+                this.projectStageProducer.createProjectStage(this.projectStageResolver));
+    }
+
+    @Benchmark
+    public boolean compareProjectStage()
+    {
+        return this.projectStage.is(ProjectStage.DEFAULT_STAGE);
+    }
+
+    @Benchmark
+    public boolean compareJsfProjectStage()
+    {
+        return this.jsfProjectStage.isProduction();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import java.lang.reflect.Field;
+
+public class BenchmarkUtils
+{
+    private BenchmarkUtils()
+    {
+    }
+
+    //replacement for the injection of the container
+    public static void inject(Object target, String fieldName, Object value)
+    {
+        Class currentClass = target.getClass();
+
+        while(currentClass != null)
+        {
+            try
+            {
+                Field field = currentClass.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            }
+            catch (NoSuchFieldException e)
+            {
+                currentClass = currentClass.getSuperclass();
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException(fieldName + " not found in " + target.getClass().getName());
+    }
+}
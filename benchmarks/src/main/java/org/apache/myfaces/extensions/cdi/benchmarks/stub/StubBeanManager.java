@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.enterprise.inject.spi.BeanManager;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+/**
+ * Bean-manager without beans and observers - just the methods used in the hot paths are supported.
+ */
+public class StubBeanManager
+{
+    private StubBeanManager()
+    {
+    }
+
+    public static BeanManager create()
+    {
+        return (BeanManager)Proxy.newProxyInstance(BeanManager.class.getClassLoader(),
+                new Class[] {BeanManager.class}, new InvocationHandler()
+                {
+                    public Object invoke(Object proxy, Method method, Object[] args)
+                    {
+                        if("resolveObserverMethods".equals(method.getName()))
+                        {
+                            return Collections.emptySet();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.util.TypeLiteral;
+import java.lang.annotation.Annotation;
+
+//counts the fired events - observers aren't notified
+public class StubEvent<T> implements Event<T>
+{
+    private long firedEventCount;
+
+    public void fire(T event)
+    {
+        this.firedEventCount++;
+    }
+
+    public Event<T> select(Annotation... qualifiers)
+    {
+        return this;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public <U extends T> Event<U> select(Class<U> subtype, Annotation... qualifiers)
+    {
+        return (Event<U>)this;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers)
+    {
+        return (Event<U>)this;
+    }
+
+    public long getFiredEventCount()
+    {
+        return this.firedEventCount;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.faces.context.ExternalContext;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Request-, session- and application-data are kept in simple maps.
+ */
+public class StubExternalContext extends ExternalContext
+{
+    private final Map<String, String> initParameters = new HashMap<String, String>();
+
+    private final Map<String, Object> applicationMap = new HashMap<String, Object>();
+
+    private final Map<String, Object> sessionMap = new HashMap<String, Object>();
+
+    private final Map<String, Object> requestMap = new HashMap<String, Object>();
+
+    private final Map<String, String> requestParameterMap = new HashMap<String, String>();
+
+    public StubExternalContext setInitParameter(String name, String value)
+    {
+        this.initParameters.put(name, value);
+        return this;
+    }
+
+    //simulates a new request
+    public void resetRequest()
+    {
+        this.requestMap.clear();
+        this.requestParameterMap.clear();
+    }
+
+    public void dispatch(String path)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public String encodeActionURL(String url)
+    {
+        return url;
+    }
+
+    public String encodeNamespace(String name)
+    {
+        return name;
+    }
+
+    public String encodeResourceURL(String url)
+    {
+        return url;
+    }
+
+    public Map<String, Object> getApplicationMap()
+    {
+        return this.applicationMap;
+    }
+
+    public String getAuthType()
+    {
+        return null;
+    }
+
+    public Object getContext()
+    {
+        return null;
+    }
+
+    public String getInitParameter(String name)
+    {
+        return this.initParameters.get(name);
+    }
+
+    public Map getInitParameterMap()
+    {
+        return Collections.unmodifiableMap(this.initParameters);
+    }
+
+    public String getRemoteUser()
+    {
+        return null;
+    }
+
+    public Object getRequest()
+    {
+        return null;
+    }
+
+    public String getRequestContextPath()
+    {
+        return "";
+    }
+
+    public Map<String, Object> getRequestCookieMap()
+    {
+        return Collections.emptyMap();
+    }
+
+    public Map<String, String> getRequestHeaderMap()
+    {
+        return Collections.emptyMap();
+    }
+
+    public Map<String, String[]> getRequestHeaderValuesMap()
+    {
+        return Collections.emptyMap();
+    }
+
+    public Locale getRequestLocale()
+    {
+        return Locale.ENGLISH;
+    }
+
+    public Iterator<Locale> getRequestLocales()
+    {
+        return Collections.singletonList(Locale.ENGLISH).iterator();
+    }
+
+    public Map<String, Object> getRequestMap()
+    {
+        return this.requestMap;
+    }
+
+    public Map<String, String> getRequestParameterMap()
+    {
+        return this.requestParameterMap;
+    }
+
+    public Iterator<String> getRequestParameterNames()
+    {
+        return this.requestParameterMap.keySet().iterator();
+    }
+
+    public Map<String, String[]> getRequestParameterValuesMap()
+    {
+        return Collections.emptyMap();
+    }
+
+    public String getRequestPathInfo()
+    {
+        return null;
+    }
+
+    public String getRequestServletPath()
+    {
+        return "/faces";
+    }
+
+    public URL getResource(String path)
+    {
+        return null;
+    }
+
+    public InputStream getResourceAsStream(String path)
+    {
+        return null;
+    }
+
+    public Set<String> getResourcePaths(String path)
+    {
+        return Collections.emptySet();
+    }
+
+    public Object getResponse()
+    {
+        return null;
+    }
+
+    public Object getSession(boolean create)
+    {
+        return null;
+    }
+
+    public Map<String, Object> getSessionMap()
+    {
+        return this.sessionMap;
+    }
+
+    public Principal getUserPrincipal()
+    {
+        return null;
+    }
+
+    public boolean isUserInRole(String role)
+    {
+        return false;
+    }
+
+    public void log(String message)
+    {
+    }
+
+    public void log(String message, Throwable throwable)
+    {
+    }
+
+    public void redirect(String url)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
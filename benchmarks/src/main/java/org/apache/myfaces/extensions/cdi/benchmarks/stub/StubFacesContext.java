@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.faces.application.Application;
+import javax.faces.application.FacesMessage;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseStream;
+import javax.faces.context.ResponseWriter;
+import javax.faces.render.RenderKit;
+import java.util.Collections;
+import java.util.Iterator;
+
+public class StubFacesContext extends FacesContext
+{
+    private final ExternalContext externalContext;
+
+    private UIViewRoot viewRoot;
+
+    private boolean renderResponse;
+
+    private boolean responseComplete;
+
+    public StubFacesContext(ExternalContext externalContext)
+    {
+        this.externalContext = externalContext;
+    }
+
+    //makes the context available via FacesContext#getCurrentInstance for the current thread
+    public StubFacesContext activate()
+    {
+        setCurrentInstance(this);
+        return this;
+    }
+
+    public Application getApplication()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public Iterator<String> getClientIdsWithMessages()
+    {
+        return Collections.<String>emptyList().iterator();
+    }
+
+    public ExternalContext getExternalContext()
+    {
+        return this.externalContext;
+    }
+
+    public FacesMessage.Severity getMaximumSeverity()
+    {
+        return null;
+    }
+
+    public Iterator<FacesMessage> getMessages()
+    {
+        return Collections.<FacesMessage>emptyList().iterator();
+    }
+
+    public Iterator<FacesMessage> getMessages(String clientId)
+    {
+        return Collections.<FacesMessage>emptyList().iterator();
+    }
+
+    public RenderKit getRenderKit()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean getRenderResponse()
+    {
+        return this.renderResponse;
+    }
+
+    public boolean getResponseComplete()
+    {
+        return this.responseComplete;
+    }
+
+    public ResponseStream getResponseStream()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public void setResponseStream(ResponseStream responseStream)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public ResponseWriter getResponseWriter()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public void setResponseWriter(ResponseWriter responseWriter)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public UIViewRoot getViewRoot()
+    {
+        return this.viewRoot;
+    }
+
+    public void setViewRoot(UIViewRoot viewRoot)
+    {
+        this.viewRoot = viewRoot;
+    }
+
+    public void addMessage(String clientId, FacesMessage facesMessage)
+    {
+    }
+
+    public void release()
+    {
+        setCurrentInstance(null);
+    }
+
+    public void renderResponse()
+    {
+        this.renderResponse = true;
+    }
+
+    public void responseComplete()
+    {
+        this.responseComplete = true;
+    }
+}
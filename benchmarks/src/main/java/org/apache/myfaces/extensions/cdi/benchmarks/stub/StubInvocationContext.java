@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StubInvocationContext implements InvocationContext
+{
+    private final Object target;
+
+    private final Method method;
+
+    private Object[] parameters;
+
+    private final Map<String, Object> contextData = new HashMap<String, Object>();
+
+    private int proceedCount;
+
+    public StubInvocationContext(Object target, Method method, Object... parameters)
+    {
+        this.target = target;
+        this.method = method;
+        this.parameters = parameters;
+    }
+
+    public Object getTarget()
+    {
+        return this.target;
+    }
+
+    public Method getMethod()
+    {
+        return this.method;
+    }
+
+    public Object[] getParameters()
+    {
+        return this.parameters;
+    }
+
+    public void setParameters(Object[] parameters)
+    {
+        this.parameters = parameters;
+    }
+
+    public Map<String, Object> getContextData()
+    {
+        return this.contextData;
+    }
+
+    public Object getTimer()
+    {
+        return null;
+    }
+
+    //the target method isn't invoked - just the decision of the interceptor is relevant
+    public Object proceed()
+    {
+        this.proceedCount++;
+        return null;
+    }
+
+    public int getProceedCount()
+    {
+        return this.proceedCount;
+    }
+}
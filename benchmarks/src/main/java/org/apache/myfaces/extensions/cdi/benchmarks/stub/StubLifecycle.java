@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseListener;
+import javax.faces.lifecycle.Lifecycle;
+
+//required as source of phase-events
+public class StubLifecycle extends Lifecycle
+{
+    public void addPhaseListener(PhaseListener phaseListener)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public void execute(FacesContext facesContext)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public PhaseListener[] getPhaseListeners()
+    {
+        return new PhaseListener[0];
+    }
+
+    public void removePhaseListener(PhaseListener phaseListener)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public void render(FacesContext facesContext)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
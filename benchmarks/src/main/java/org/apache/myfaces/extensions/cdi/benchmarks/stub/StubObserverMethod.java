@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.benchmarks.stub;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.faces.event.PhaseEvent;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+
+public class StubObserverMethod implements ObserverMethod<PhaseEvent>
+{
+    private final Set<Annotation> qualifiers;
+
+    private long notificationCount;
+
+    public StubObserverMethod(Annotation qualifier)
+    {
+        this.qualifiers = Collections.singleton(qualifier);
+    }
+
+    public Class<?> getBeanClass()
+    {
+        return StubObserverMethod.class;
+    }
+
+    public Type getObservedType()
+    {
+        return PhaseEvent.class;
+    }
+
+    public Set<Annotation> getObservedQualifiers()
+    {
+        return this.qualifiers;
+    }
+
+    public Reception getReception()
+    {
+        return Reception.ALWAYS;
+    }
+
+    public TransactionPhase getTransactionPhase()
+    {
+        return TransactionPhase.IN_PROGRESS;
+    }
+
+    public void notify(PhaseEvent event)
+    {
+        this.notificationCount++;
+    }
+
+    public long getNotificationCount()
+    {
+        return this.notificationCount;
+    }
+}
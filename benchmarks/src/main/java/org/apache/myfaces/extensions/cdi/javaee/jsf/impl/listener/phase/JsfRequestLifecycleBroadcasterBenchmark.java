@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.BenchmarkUtils;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubBeanManager;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubEvent;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubExternalContext;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubFacesContext;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubLifecycle;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubObserverMethod;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseObserverProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.faces.component.UIViewRoot;
+import javax.faces.event.PhaseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Before- and after-broadcast of {@link JsfRequestLifecycleBroadcaster} via the phase event bus
+ * and via (stubbed) cdi events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsfRequestLifecycleBroadcasterBenchmark
+{
+    private JsfRequestLifecycleBroadcaster busBroadcaster;
+
+    private JsfRequestLifecycleBroadcaster eventBroadcaster;
+
+    private PhaseEvent restoreViewEvent;
+
+    private PhaseEvent renderResponseEvent;
+
+    @Setup
+    public void init()
+    {
+        BeanManager beanManager = StubBeanManager.create();
+
+        List<PhaseObserverEntry> phaseObserverEntries = new ArrayList<PhaseObserverEntry>();
+        phaseObserverEntries.add(createEntry(PhaseId.RENDER_RESPONSE, true));
+        phaseObserverEntries.add(createEntry(PhaseId.RENDER_RESPONSE, false));
+        phaseObserverEntries.add(createEntry(PhaseId.ANY_PHASE, true));
+
+        PhaseListenerExtension busExtension = new PhaseListenerExtension();
+        BenchmarkUtils.inject(busExtension, "phaseEventBus",
+                new PhaseEventBus(phaseObserverEntries, beanManager, new PhaseObserverProfiler()));
+
+        this.busBroadcaster = createBroadcaster(busExtension, beanManager);
+        //without phase event bus
+        this.eventBroadcaster = createBroadcaster(new PhaseListenerExtension(), beanManager);
+
+        StubFacesContext facesContext = new StubFacesContext(new StubExternalContext());
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/pages/page1.xhtml");
+        facesContext.setViewRoot(viewRoot);
+
+        StubLifecycle lifecycle = new StubLifecycle();
+        this.restoreViewEvent = new PhaseEvent(facesContext, javax.faces.event.PhaseId.RESTORE_VIEW, lifecycle);
+        this.renderResponseEvent =
+                new PhaseEvent(facesContext, javax.faces.event.PhaseId.RENDER_RESPONSE, lifecycle);
+    }
+
+    private PhaseObserverEntry createEntry(PhaseId phaseId, boolean beforePhase)
+    {
+        StubObserverMethod observerMethod = new StubObserverMethod(
+                beforePhase ? BeforePhaseBinding.of(phaseId) : AfterPhaseBinding.of(phaseId));
+
+        return new PhaseObserverEntry(observerMethod, "observer-" + phaseId, phaseId, beforePhase, null);
+    }
+
+    private JsfRequestLifecycleBroadcaster createBroadcaster(PhaseListenerExtension phaseListenerExtension,
+                                                             BeanManager beanManager)
+    {
+        JsfRequestLifecycleBroadcaster result = new JsfRequestLifecycleBroadcaster();
+        BenchmarkUtils.inject(result, "phaseEvent", new StubEvent<PhaseEvent>());
+        BenchmarkUtils.inject(result, "beforeAnyPhaseEvent", new StubEvent<PhaseEvent>());
+        BenchmarkUtils.inject(result, "afterAnyPhaseEvent", new StubEvent<PhaseEvent>());
+        BenchmarkUtils.inject(result, "requestLifecycleCompletedEvent", new StubEvent<Object>());
+        BenchmarkUtils.inject(result, "phaseListenerExtension", phaseListenerExtension);
+        BenchmarkUtils.inject(result, "beanManager", beanManager);
+        return result;
+    }
+
+    //just observers of ANY_PHASE
+    @Benchmark
+    public void broadcastRestoreViewViaBus()
+    {
+        this.busBroadcaster.broadcastBeforeEvent(this.restoreViewEvent);
+        this.busBroadcaster.broadcastAfterEvent(this.restoreViewEvent);
+    }
+
+    @Benchmark
+    public void broadcastRenderResponseViaBus()
+    {
+        this.busBroadcaster.broadcastBeforeEvent(this.renderResponseEvent);
+        this.busBroadcaster.broadcastAfterEvent(this.renderResponseEvent);
+    }
+
+    @Benchmark
+    public void broadcastRenderResponseViaEvents()
+    {
+        this.eventBroadcaster.broadcastBeforeEvent(this.renderResponseEvent);
+        this.eventBroadcaster.broadcastAfterEvent(this.renderResponseEvent);
+    }
+}
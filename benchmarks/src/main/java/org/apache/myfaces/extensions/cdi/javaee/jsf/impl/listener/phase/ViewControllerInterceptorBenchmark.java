@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.BenchmarkUtils;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubExternalContext;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubFacesContext;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubInvocationContext;
+import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.enterprise.event.Observes;
+import javax.faces.component.UIViewRoot;
+import javax.faces.event.PhaseEvent;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ViewControllerInterceptorBenchmark
+{
+    private ViewControllerInterceptor viewControllerInterceptor;
+
+    private StubInvocationContext unrestrictedObserverInvocation;
+
+    private StubInvocationContext matchingViewObserverInvocation;
+
+    private StubInvocationContext otherViewObserverInvocation;
+
+    @Setup
+    public void init() throws NoSuchMethodException
+    {
+        StubFacesContext facesContext = new StubFacesContext(new StubExternalContext()).activate();
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/pages/page1.xhtml");
+        facesContext.setViewRoot(viewRoot);
+
+        this.viewControllerInterceptor = new ViewControllerInterceptor();
+        BenchmarkUtils.inject(this.viewControllerInterceptor, "phaseListenerExtension", new PhaseListenerExtension());
+
+        this.unrestrictedObserverInvocation = createInvocation(new UnrestrictedObserver());
+        this.matchingViewObserverInvocation = createInvocation(new MatchingViewObserver());
+        this.otherViewObserverInvocation = createInvocation(new OtherViewObserver());
+    }
+
+    private StubInvocationContext createInvocation(Object target) throws NoSuchMethodException
+    {
+        return new StubInvocationContext(
+                target, target.getClass().getMethod("onRenderResponse", PhaseEvent.class), (Object)null);
+    }
+
+    @Benchmark
+    public Object interceptWithoutView() throws Exception
+    {
+        return this.viewControllerInterceptor.filterPhaseListenerMethods(this.unrestrictedObserverInvocation);
+    }
+
+    @Benchmark
+    public Object interceptWithMatchingView() throws Exception
+    {
+        return this.viewControllerInterceptor.filterPhaseListenerMethods(this.matchingViewObserverInvocation);
+    }
+
+    @Benchmark
+    public Object interceptWithOtherView() throws Exception
+    {
+        return this.viewControllerInterceptor.filterPhaseListenerMethods(this.otherViewObserverInvocation);
+    }
+
+    public static class UnrestrictedObserver
+    {
+        public void onRenderResponse(@Observes @BeforePhase(PhaseId.RENDER_RESPONSE) PhaseEvent phaseEvent)
+        {
+        }
+    }
+
+    @View("/pages/page1.xhtml")
+    public static class MatchingViewObserver
+    {
+        public void onRenderResponse(@Observes @BeforePhase(PhaseId.RENDER_RESPONSE) PhaseEvent phaseEvent)
+        {
+        }
+    }
+
+    @View("/pages/page2.xhtml")
+    public static class OtherViewObserver
+    {
+        public void onRenderResponse(@Observes @BeforePhase(PhaseId.RENDER_RESPONSE) PhaseEvent phaseEvent)
+        {
+        }
+    }
+}
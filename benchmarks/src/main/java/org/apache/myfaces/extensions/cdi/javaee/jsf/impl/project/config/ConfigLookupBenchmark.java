@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.BenchmarkUtils;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubExternalContext;
+import org.apache.myfaces.extensions.cdi.benchmarks.stub.StubFacesContext;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameterNames;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.KeyAwareConfigEntryResolver;
+import org.apache.myfaces.extensions.cdi.core.impl.project.config.InitParameterConfigManager;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WebXmlInitParameterConfigManager} -> {@link InitParameterConfigManager} -> {@link DefaultConfigEntryResolver}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigLookupBenchmark
+{
+    private WebXmlInitParameterConfigManager configManager;
+
+    @Setup
+    public void init()
+    {
+        new StubFacesContext(new StubExternalContext()
+                .setInitParameter(WebXmlParameterNames.PROJECT_STAGE_PARAMETER_NAME, "Development")).activate();
+
+        this.configManager = new WebXmlInitParameterConfigManager();
+        BenchmarkUtils.inject(this.configManager, "wrapped", new InitParameterConfigManager());
+        BenchmarkUtils.inject(this.configManager, "configEntryResolver",
+                DefaultConfigEntryResolver.createConfigEntryResolver(
+                        Collections.<KeyAwareConfigEntryResolver<String, String>>singletonList(
+                                new JsfProjectStageConfigEntryResolver())));
+    }
+
+    //resolved via the web.xml
+    @Benchmark
+    public String lookupProjectStage()
+    {
+        return this.configManager.getValue(InitParameterNames.APPLICATION_PROJECT_STAGE);
+    }
+
+    //resolves the entry again for every lookup
+    @Benchmark
+    public String lookupProjectStageUncached()
+    {
+        this.configManager.invalidate(InitParameterNames.APPLICATION_PROJECT_STAGE);
+        return this.configManager.getValue(InitParameterNames.APPLICATION_PROJECT_STAGE);
+    }
+
+    @Benchmark
+    public String lookupUnknownKey()
+    {
+        return this.configManager.getValue("unknown-key");
+    }
+}
@@ -27,6 +27,14 @@ import java.lang.annotation.Retention;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Target;
 
+/**
+ * Restricts phase-observers to the given view-ids.
+ * Supported are exact view-ids, prefix patterns (e.g. /admin/*), suffix patterns (e.g. *.xhtml) and patterns
+ * with a wildcard in the middle. An exact view-id matches all variants with a different extension of the page
+ * (.jsp, .jspx, .xhtml, .faces, .jsf) or without extension - e.g. /page.jsp also matches /page.xhtml and /page.
+ * A leading /faces/ (prefix servlet-mapping) is ignored - therefore /faces/* matches all views (like *).
+ * Just one wildcard per pattern is supported - other patterns are reported as deployment problem.
+ */
 @InterceptorBinding
 @Target({TYPE, METHOD})
 @Retention(RUNTIME)
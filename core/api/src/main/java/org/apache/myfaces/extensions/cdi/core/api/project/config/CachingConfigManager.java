@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.config;
+
+import java.util.Map;
+
+/**
+ * {@link ConfigManager} which resolves every key just once (also keys without a value).
+ */
+public interface CachingConfigManager<K, V> extends ConfigManager<K, V>
+{
+    /**
+     * The next lookup of the given key will resolve it again.
+     *
+     * @param key key of the cached entry
+     */
+    void invalidate(K key);
+
+    void invalidateAll();
+
+    /**
+     * @return statistics of all keys which were requested so far
+     */
+    Map<K, ConfigEntryStatistics> getStatistics();
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.config;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Event which gets fired after a reload of the config changed entries.
+ * After a change of the config file it's fired by the thread which checks the file - there are no active request-
+ * and session-contexts, so observers mustn't be request- or session-scoped beans.
+ * It's also fired if a {@link DeferredConfigSource} gets merged later on.
+ */
+public class ConfigChangedEvent
+{
+    private final Set<String> changedKeys;
+
+    public ConfigChangedEvent(Set<String> changedKeys)
+    {
+        this.changedKeys = Collections.unmodifiableSet(new HashSet<String>(changedKeys));
+    }
+
+    /**
+     * @return keys of all added, changed and removed entries
+     */
+    public Set<String> getChangedKeys()
+    {
+        return this.changedKeys;
+    }
+
+    public boolean isChanged(String key)
+    {
+        return this.changedKeys.contains(key);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.config;
+
+import java.util.Map;
+
+/**
+ * Source of config entries. Custom sources get discovered as beans.
+ * All sources get merged once - entries of sources with a higher ordinal override entries of sources
+ * with a lower ordinal. A {@link DeferredConfigSource} gets merged as soon as it's available.
+ */
+public interface ConfigSource
+{
+    /**
+     * @return the ordinal of the source
+     */
+    int getOrdinal();
+
+    /**
+     * Called during the merge of all sources.
+     *
+     * @return all entries of the source
+     */
+    Map<String, String> getProperties();
+
+    /**
+     * @return a name of the source which is used e.g. for log messages
+     */
+    String getConfigName();
+}
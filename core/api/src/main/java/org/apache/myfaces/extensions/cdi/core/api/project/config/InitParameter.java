@@ -18,6 +18,7 @@
  */
 package org.apache.myfaces.extensions.cdi.core.api.project.config;
 
+import javax.enterprise.util.Nonbinding;
 import javax.inject.Qualifier;
 import java.lang.annotation.Documented;
 import static java.lang.annotation.ElementType.*;
@@ -35,4 +36,12 @@ public @interface InitParameter
     //TODO
 
     Class value() default InitParameter.class;
+
+    /**
+     * Only used for injection points of config values e.g. <code>@InitParameter(name = "pool.size") int poolSize</code>
+     *
+     * @return key of the config entry
+     */
+    @Nonbinding
+    String name() default "";
 }
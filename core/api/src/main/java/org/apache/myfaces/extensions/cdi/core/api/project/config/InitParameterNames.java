@@ -21,4 +21,10 @@ package org.apache.myfaces.extensions.cdi.core.api.project.config;
 public interface InitParameterNames
 {
     static final String APPLICATION_PROJECT_STAGE = "application.PROJECT_STAGE";
+
+    //properties file which overrides the entries of all META-INF/myfaces-codi.properties files
+    static final String CONFIG_FILE = "org.apache.myfaces.extensions.cdi.CONFIG_FILE";
+
+    //interval (in seconds) for checking the config file for changes - 0 deactivates the reloading (default: 10)
+    static final String CONFIG_FILE_CHECK_INTERVAL = "org.apache.myfaces.extensions.cdi.CONFIG_FILE_CHECK_INTERVAL";
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.config;
+
+import java.util.Set;
+
+/**
+ * Resolver for config entries which gets discovered as bean and is used by the {@link ConfigEntryResolver} of a module.
+ */
+public interface KeyAwareConfigEntryResolver<K, V>
+{
+    /**
+     * Evaluated once during the initialization of the resolver chain.
+     *
+     * @return keys this resolver is responsible for or an empty set if it should be used for all other keys
+     */
+    Set<K> getResponsibleKeys();
+
+    /**
+     * @param key key of the requested entry
+     * @return the resolved value or null if there is no value
+     */
+    V resolveValue(K key);
+}
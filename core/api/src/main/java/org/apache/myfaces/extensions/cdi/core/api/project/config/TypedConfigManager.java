@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.config;
+
+import java.util.List;
+
+/**
+ * {@link ConfigManager} for converted config values - every value is converted once.
+ * Supported are String, int, long, boolean, enums and all types with a {@link ConfigValueConverter}.
+ */
+public interface TypedConfigManager
+{
+    /**
+     * @param key key of the config entry
+     * @param targetType type of the result
+     * @return the converted value or null if there is no value
+     * @throws IllegalArgumentException if the value can't be converted
+     */
+    <T> T getValue(String key, Class<T> targetType);
+
+    /**
+     * @param key key of the config entry with comma separated values
+     * @param elementType type of the elements
+     * @return the converted values or an empty list if there is no value
+     * @throws IllegalArgumentException if a value can't be converted
+     */
+    <T> List<T> getValues(String key, Class<T> elementType);
+}
@@ -20,7 +20,14 @@ package org.apache.myfaces.extensions.cdi.core.api.project.stage;
 
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Typed;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Typed()
 public class ProjectStage implements Serializable
@@ -29,6 +36,10 @@ public class ProjectStage implements Serializable
 
     public static final String DEFAULT_STAGE = "Production";
 
+    //one (immutable) instance per project-stage
+    private static final ConcurrentMap<String, ProjectStage> PROJECT_STAGES =
+            new ConcurrentHashMap<String, ProjectStage>();
+
     private String value;
 
     protected ProjectStage()
@@ -38,18 +49,58 @@ public class ProjectStage implements Serializable
 
     private ProjectStage(String value)
     {
-        this.value = value;
+        this.value = value.intern();
     }
 
     @Produces
     public ProjectStage createProjectStage(ProjectStageResolver projectStageResolver)
     {
-        return new ProjectStage(projectStageResolver.getCurrentProjectStageName());
+        return valueOf(projectStageResolver.getCurrentProjectStageName());
+    }
+
+    /**
+     * @param projectStageName name of the project-stage
+     * @return the instance for the given project-stage
+     */
+    public static ProjectStage valueOf(String projectStageName)
+    {
+        ProjectStage result = PROJECT_STAGES.get(projectStageName);
+
+        if(result == null)
+        {
+            result = new ProjectStage(projectStageName);
+
+            ProjectStage existingProjectStage = PROJECT_STAGES.putIfAbsent(projectStageName, result);
+
+            if(existingProjectStage != null)
+            {
+                result = existingProjectStage;
+            }
+        }
+        return result;
     }
 
     public boolean is(String projectStage)
     {
-        return this.value.equals(projectStage);
+        //names are interned - constants are equal without comparing the characters
+        return this.value == projectStage || this.value.equals(projectStage);
+    }
+
+    public boolean is(ProjectStage projectStage)
+    {
+        return this == projectStage;
+    }
+
+    //keeps the instances unique
+    protected Object readResolve()
+    {
+        return valueOf(this.value);
+    }
+
+    //compact form e.g. for replicated sessions
+    protected Object writeReplace()
+    {
+        return new SerializedProjectStage(this.value);
     }
 
     @Override
@@ -57,4 +108,67 @@ public class ProjectStage implements Serializable
     {
         return this.value;
     }
+
+    /**
+     * Common project-stages are written as a single byte - others as byte and name.
+     */
+    private static final class SerializedProjectStage implements Externalizable
+    {
+        private static final long serialVersionUID = -3285441935287391672L;
+
+        //don't change the order - it's used for the serialized form
+        private static final String[] KNOWN_PROJECT_STAGES =
+                {DEFAULT_STAGE, "Development", "UnitTest", "SystemTest"};
+
+        private static final byte CUSTOM_PROJECT_STAGE = -1;
+
+        private String projectStageName;
+
+        public SerializedProjectStage()
+        {
+            //required by the serialization
+        }
+
+        private SerializedProjectStage(String projectStageName)
+        {
+            this.projectStageName = projectStageName;
+        }
+
+        public void writeExternal(ObjectOutput objectOutput) throws IOException
+        {
+            for(byte i = 0; i < KNOWN_PROJECT_STAGES.length; i++)
+            {
+                if(KNOWN_PROJECT_STAGES[i].equals(this.projectStageName))
+                {
+                    objectOutput.writeByte(i);
+                    return;
+                }
+            }
+            objectOutput.writeByte(CUSTOM_PROJECT_STAGE);
+            objectOutput.writeUTF(this.projectStageName);
+        }
+
+        public void readExternal(ObjectInput objectInput) throws IOException
+        {
+            byte projectStageCode = objectInput.readByte();
+
+            if(projectStageCode == CUSTOM_PROJECT_STAGE)
+            {
+                this.projectStageName = objectInput.readUTF();
+            }
+            else if(projectStageCode >= 0 && projectStageCode < KNOWN_PROJECT_STAGES.length)
+            {
+                this.projectStageName = KNOWN_PROJECT_STAGES[projectStageCode];
+            }
+            else
+            {
+                throw new InvalidObjectException("unknown project-stage code: " + projectStageCode);
+            }
+        }
+
+        private Object readResolve()
+        {
+            return valueOf(this.projectStageName);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.project.stage;
+
+import java.lang.annotation.Documented;
+import static java.lang.annotation.ElementType.TYPE;
+import java.lang.annotation.Retention;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import java.lang.annotation.Target;
+
+/**
+ * Beans (incl. their observers) and phase-listeners are only active in the given project-stages.
+ * If the project-stage is configured via system property, environment variable, JNDI or config file,
+ * inactive beans are vetoed at deployment time.
+ * The web.xml (e.g. javax.faces.PROJECT_STAGE) isn't available during the deployment - in this case beans stay
+ * active and only phase-listeners are deactivated as soon as the project-stage is known (before the first phase).
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+@Documented
+public @interface ProjectStageActivated
+{
+    /**
+     * @return names of the project-stages e.g. "Development"
+     */
+    String[] value();
+}
@@ -21,6 +21,18 @@ package org.apache.myfaces.extensions.cdi.core.api.util;
 import java.util.jar.Manifest;
 import java.util.jar.Attributes;
 import java.net.URL;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * keep in sync with extval!
@@ -29,74 +41,221 @@ import java.net.URL;
  */
 public class ClassUtils
 {
+    private static final Logger LOGGER = Logger.getLogger(ClassUtils.class.getName());
+
+    //marker for classes which aren't available
+    private static final Object CLASS_NOT_FOUND = new Object();
+
+    //loaded classes and known misses per (webapp) classloader
+    //weak keys and weak references to the classes -> no leak after a redeployment
+    private static final Map<ClassLoader, ConcurrentMap<String, Object>> LOADED_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, Object>>());
+
+    //the cache used last - lock-free lookup for the common case of a single (webapp) classloader
+    private static volatile RecentLoadedClasses recentLoadedClasses;
+
+    //the factories just keep soft references to their constructors -> the classes aren't kept alive by the cache
+    private static final Map<Class, InstanceFactory> INSTANCE_FACTORIES =
+            Collections.synchronizedMap(new WeakHashMap<Class, InstanceFactory>());
+
     public static Class tryToLoadClassForName(String name)
     {
-        try
+        return loadCachedClassForName(name, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static Class loadClassForName(String name) throws ClassNotFoundException
+    {
+        Class result = tryToLoadClassForName(name);
+
+        if(result == null)
         {
-            return loadClassForName(name);
+            throw new ClassNotFoundException(name);
         }
-        catch (ClassNotFoundException e)
+        return result;
+    }
+
+    private static Class loadCachedClassForName(String name, ClassLoader classLoader)
+    {
+        ConcurrentMap<String, Object> loadedClasses = getLoadedClasses(classLoader);
+        Object cachedEntry = loadedClasses.get(name);
+
+        if(cachedEntry == CLASS_NOT_FOUND)
         {
-            //do nothing - it's just a try
             return null;
         }
+
+        if(cachedEntry != null)
+        {
+            Class result = (Class)((WeakReference)cachedEntry).get();
+
+            if(result != null)
+            {
+                return result;
+            }
+        }
+
+        Class result = loadUncachedClassForName(name, classLoader);
+
+        if(result != null)
+        {
+            loadedClasses.put(name, new WeakReference<Class>(result));
+        }
+        else
+        {
+            loadedClasses.put(name, CLASS_NOT_FOUND);
+        }
+        return result;
     }
 
-    public static Class loadClassForName(String name) throws ClassNotFoundException
+    private static ConcurrentMap<String, Object> getLoadedClasses(ClassLoader classLoader)
     {
-        try
+        //the lookup isn't bound to the webapp without context-classloader
+        ClassLoader cacheKey = classLoader != null ? classLoader : ClassUtils.class.getClassLoader();
+
+        RecentLoadedClasses recent = recentLoadedClasses;
+
+        if(recent != null && recent.getClassLoader() == cacheKey)
         {
-            // Try WebApp ClassLoader first
-            return Class.forName(name, false, // do not initialize for faster startup
-                Thread.currentThread().getContextClassLoader());
+            return recent.getLoadedClasses();
+        }
+
+        ConcurrentMap<String, Object> result;
+
+        synchronized (LOADED_CLASSES)
+        {
+            result = LOADED_CLASSES.get(cacheKey);
+
+            if(result == null)
+            {
+                result = new ConcurrentHashMap<String, Object>();
+                LOADED_CLASSES.put(cacheKey, result);
+            }
+        }
+
+        recentLoadedClasses = new RecentLoadedClasses(cacheKey, result);
+        return result;
+    }
+
+    private static Class loadUncachedClassForName(String name, ClassLoader classLoader)
+    {
+        if(classLoader != null)
+        {
+            try
+            {
+                // Try WebApp ClassLoader first
+                return Class.forName(name, false, // do not initialize for faster startup
+                    classLoader);
+            }
+            catch (ClassNotFoundException ignore)
+            {
+                //do nothing - the fallback is used
+            }
         }
-        catch (ClassNotFoundException ignore)
+
+        try
         {
             // fallback: Try ClassLoader for ClassUtils (i.e. the myfaces.jar lib)
             return Class.forName(name, false, // do not initialize for faster startup
                 ClassUtils.class.getClassLoader());
         }
+        catch (ClassNotFoundException e)
+        {
+            //do nothing - it's just a try
+            return null;
+        }
     }
 
-    public static <T> T tryToInstantiateClass(Class<T> targetClass)
+    /**
+     * @param targetClass public class which has a public default constructor
+     * @return cached factory for instances of the given class
+     * @throws IllegalArgumentException if the class can't be instantiated
+     */
+    public static <T> InstanceFactory<T> getInstanceFactory(Class<T> targetClass)
     {
+        InstanceFactory result = INSTANCE_FACTORIES.get(targetClass);
+
+        if(result == null)
+        {
+            result = new ConstructorInstanceFactory<T>(targetClass, getDefaultConstructor(targetClass));
+            INSTANCE_FACTORIES.put(targetClass, result);
+        }
+        //noinspection unchecked
+        return result;
+    }
+
+    /**
+     * @param className name of a public class which has a public default constructor
+     * @return cached factory for instances of the given class
+     * @throws ClassNotFoundException if the class isn't available
+     * @throws IllegalArgumentException if the class can't be instantiated
+     */
+    public static InstanceFactory getInstanceFactory(String className) throws ClassNotFoundException
+    {
+        return getInstanceFactory(loadClassForName(className));
+    }
+
+    //just constructors which are accessible anyway - no access checks are suppressed
+    private static <T> Constructor<T> getDefaultConstructor(Class<T> targetClass)
+    {
+        if(targetClass.isInterface() || Modifier.isAbstract(targetClass.getModifiers()))
+        {
+            throw new IllegalArgumentException(targetClass.getName() + " can't be instantiated");
+        }
+
+        if(!Modifier.isPublic(targetClass.getModifiers()))
+        {
+            throw new IllegalArgumentException(targetClass.getName() + " isn't public");
+        }
+
         try
         {
-            return targetClass.newInstance();
+            return targetClass.getConstructor();
         }
-        catch (Throwable t)
+        catch (NoSuchMethodException e)
         {
-            //do nothing - it was just a try
+            throw new IllegalArgumentException(targetClass.getName() + " has no public default constructor", e);
         }
-        return null;
+    }
+
+    public static <T> T tryToInstantiateClass(Class<T> targetClass)
+    {
+        return tryToInstantiateClass(targetClass, targetClass);
     }
 
     public static <T> T tryToInstantiateClass(Class targetClass, Class<T> type)
     {
         try
         {
-            return (T)targetClass.newInstance();
+            return type.cast(getInstanceFactory(targetClass).create());
         }
-        catch (Throwable t)
+        catch (RuntimeException e)
         {
-            //do nothing - it was just a try
+            //it was just a try - but the reason should be visible
+            LOGGER.log(Level.WARNING, "failed to create an instance of " + targetClass.getName(), e);
+        }
+        catch (LinkageError e)
+        {
+            //e.g. an optional dependency isn't available
+            LOGGER.log(Level.WARNING, "failed to create an instance of " + targetClass.getName(), e);
         }
         return null;
     }
 
     public static Object tryToInstantiateClassForName(String className)
     {
-        try
-        {
-            return instantiateClassForName(className);
-        }
-        catch (Throwable t)
+        Class targetClass = tryToLoadClassForName(className);
+
+        if(targetClass == null)
         {
-            //do nothing - it was just a try
+            return null;
         }
-        return null;
+        return tryToInstantiateClass(targetClass);
     }
 
+    /**
+     * @deprecated use {@link #getInstanceFactory(String)} - the factory can be cached by the caller
+     */
+    @Deprecated
     public static Object instantiateClassForName(String className)
         throws ClassNotFoundException, IllegalAccessException, InstantiationException
     {
@@ -122,4 +281,85 @@ public class ClassUtils
             return null;
         }
     }
+
+    private static class RecentLoadedClasses
+    {
+        //weak - a redeployed webapp mustn't be kept alive by the last lookup
+        private final WeakReference<ClassLoader> classLoader;
+
+        private final ConcurrentMap<String, Object> loadedClasses;
+
+        private RecentLoadedClasses(ClassLoader classLoader, ConcurrentMap<String, Object> loadedClasses)
+        {
+            this.classLoader = new WeakReference<ClassLoader>(classLoader);
+            this.loadedClasses = loadedClasses;
+        }
+
+        private ClassLoader getClassLoader()
+        {
+            return this.classLoader.get();
+        }
+
+        private ConcurrentMap<String, Object> getLoadedClasses()
+        {
+            return this.loadedClasses;
+        }
+    }
+
+    private static class ConstructorInstanceFactory<T> implements InstanceFactory<T>
+    {
+        private final WeakReference<Class<T>> targetClass;
+
+        //a strong reference would keep the class (the key of the cache) alive
+        private volatile SoftReference<Constructor<T>> constructor;
+
+        private ConstructorInstanceFactory(Class<T> targetClass, Constructor<T> constructor)
+        {
+            this.targetClass = new WeakReference<Class<T>>(targetClass);
+            this.constructor = new SoftReference<Constructor<T>>(constructor);
+        }
+
+        public T create()
+        {
+            Constructor<T> currentConstructor = getConstructor();
+
+            try
+            {
+                return currentConstructor.newInstance();
+            }
+            catch (InvocationTargetException e)
+            {
+                throw new IllegalStateException("failed to create an instance of " +
+                        currentConstructor.getDeclaringClass().getName(), e.getCause());
+            }
+            catch (InstantiationException e)
+            {
+                throw new IllegalStateException("failed to create an instance of " +
+                        currentConstructor.getDeclaringClass().getName(), e);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException("failed to create an instance of " +
+                        currentConstructor.getDeclaringClass().getName(), e);
+            }
+        }
+
+        private Constructor<T> getConstructor()
+        {
+            Constructor<T> result = this.constructor.get();
+
+            if(result == null)
+            {
+                Class<T> currentTargetClass = this.targetClass.get();
+
+                if(currentTargetClass == null)
+                {
+                    throw new IllegalStateException("the class of the factory isn't available any longer");
+                }
+                result = getDefaultConstructor(currentTargetClass);
+                this.constructor = new SoftReference<Constructor<T>>(result);
+            }
+            return result;
+        }
+    }
 }
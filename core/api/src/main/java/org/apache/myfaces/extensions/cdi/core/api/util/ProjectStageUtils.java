@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.api.util;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageActivated;
+
+public class ProjectStageUtils
+{
+    public static boolean isActivated(Class targetClass, ProjectStage projectStage)
+    {
+        return isActivated(targetClass, projectStage.toString());
+    }
+
+    public static boolean isActivated(Class targetClass, String projectStageName)
+    {
+        ProjectStageActivated projectStageActivated =
+                (ProjectStageActivated)targetClass.getAnnotation(ProjectStageActivated.class);
+
+        if(projectStageActivated == null)
+        {
+            return true;
+        }
+
+        for(String activeProjectStageName : projectStageActivated.value())
+        {
+            if(activeProjectStageName.equals(projectStageName))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeforeShutdown;
+import javax.enterprise.inject.spi.Extension;
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checks config files for changes - the thread is stopped before the shutdown of the application.
+ */
+public class ConfigFileWatcherExtension implements Extension
+{
+    private static final Logger LOGGER = Logger.getLogger(ConfigFileWatcherExtension.class.getName());
+
+    private ScheduledExecutorService executorService;
+
+    /**
+     * @param configFile file which should be checked
+     * @param checkInterval interval in seconds
+     * @param reloadTask task which gets called after a change of the file
+     */
+    public synchronized void watch(File configFile, long checkInterval, Runnable reloadTask)
+    {
+        if(this.executorService == null)
+        {
+            this.executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory()
+            {
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread(runnable, "codi-config-file-watcher");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        this.executorService.scheduleWithFixedDelay(
+                new ConfigFileCheck(configFile, reloadTask), checkInterval, checkInterval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopWatching(@Observes BeforeShutdown beforeShutdown)
+    {
+        if(this.executorService != null)
+        {
+            this.executorService.shutdownNow();
+            this.executorService = null;
+        }
+    }
+
+    private static class ConfigFileCheck implements Runnable
+    {
+        private final File configFile;
+
+        private final Runnable reloadTask;
+
+        private long lastModified;
+
+        private long length;
+
+        private ConfigFileCheck(File configFile, Runnable reloadTask)
+        {
+            this.configFile = configFile;
+            this.reloadTask = reloadTask;
+            this.lastModified = configFile.lastModified();
+            this.length = configFile.length();
+        }
+
+        public void run()
+        {
+            long currentLastModified = this.configFile.lastModified();
+            long currentLength = this.configFile.length();
+
+            if(currentLastModified == this.lastModified && currentLength == this.length)
+            {
+                return;
+            }
+
+            this.lastModified = currentLastModified;
+            this.length = currentLength;
+
+            try
+            {
+                this.reloadTask.run();
+            }
+            catch (RuntimeException e)
+            {
+                //an exception would stop the scheduled checks
+                LOGGER.log(Level.WARNING, "failed to reload " + this.configFile.getAbsolutePath(), e);
+            }
+        }
+    }
+}
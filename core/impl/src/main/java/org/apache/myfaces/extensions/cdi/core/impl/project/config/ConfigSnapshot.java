@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable merged view of all {@link ConfigSource}s
+ */
+final class ConfigSnapshot
+{
+    //lowest ordinal first -> entries of sources with a higher ordinal override them
+    private final List<ConfigSource> configSources;
+
+    private final List<Map<String, String>> configSourceEntries;
+
+    private final Map<String, String> entries;
+
+    private ConfigSnapshot(List<ConfigSource> configSources, List<Map<String, String>> configSourceEntries)
+    {
+        this.configSources = configSources;
+        this.configSourceEntries = configSourceEntries;
+
+        Map<String, String> mergedEntries = new HashMap<String, String>();
+
+        for(Map<String, String> currentEntries : configSourceEntries)
+        {
+            mergedEntries.putAll(currentEntries);
+        }
+        this.entries = Collections.unmodifiableMap(mergedEntries);
+    }
+
+    static ConfigSnapshot create(List<ConfigSource> configSources)
+    {
+        List<ConfigSource> sortedConfigSources = new ArrayList<ConfigSource>(configSources);
+
+        Collections.sort(sortedConfigSources, new Comparator<ConfigSource>()
+        {
+            public int compare(ConfigSource configSource1, ConfigSource configSource2)
+            {
+                int ordinal1 = configSource1.getOrdinal();
+                int ordinal2 = configSource2.getOrdinal();
+                return ordinal1 < ordinal2 ? -1 : (ordinal1 == ordinal2 ? 0 : 1);
+            }
+        });
+
+        List<Map<String, String>> configSourceEntries = new ArrayList<Map<String, String>>();
+
+        for(ConfigSource configSource : sortedConfigSources)
+        {
+            configSourceEntries.add(readEntries(configSource));
+        }
+        return new ConfigSnapshot(sortedConfigSources, configSourceEntries);
+    }
+
+    /**
+     * @param configSource source which has to be read again
+     * @return a new snapshot which uses the current entries of the given source and the known entries of all
+     * other sources
+     */
+    ConfigSnapshot reload(ConfigSource configSource)
+    {
+        List<Map<String, String>> newConfigSourceEntries = new ArrayList<Map<String, String>>(this.configSourceEntries);
+
+        for(int i = 0; i < this.configSources.size(); i++)
+        {
+            if(this.configSources.get(i) == configSource)
+            {
+                newConfigSourceEntries.set(i, readEntries(configSource));
+            }
+        }
+        return new ConfigSnapshot(this.configSources, newConfigSourceEntries);
+    }
+
+    String getValue(String key)
+    {
+        return this.entries.get(key);
+    }
+
+    Set<String> getChangedKeys(ConfigSnapshot previousSnapshot)
+    {
+        Set<String> result = new HashSet<String>();
+
+        for(Map.Entry<String, String> entry : this.entries.entrySet())
+        {
+            if(!entry.getValue().equals(previousSnapshot.entries.get(entry.getKey())))
+            {
+                result.add(entry.getKey());
+            }
+        }
+
+        for(String previousKey : previousSnapshot.entries.keySet())
+        {
+            if(!this.entries.containsKey(previousKey))
+            {
+                result.add(previousKey);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> readEntries(ConfigSource configSource)
+    {
+        Map<String, String> result = new HashMap<String, String>();
+        Map<String, String> properties = configSource.getProperties();
+
+        if(properties != null)
+        {
+            for(Map.Entry<String, String> entry : properties.entrySet())
+            {
+                if(entry.getKey() != null && entry.getValue() != null)
+                {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameter;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.TypedConfigManager;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.ProcessInjectionTarget;
+import javax.enterprise.inject.spi.ProcessProducer;
+import javax.enterprise.util.AnnotationLiteral;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Validates all injected config values during the deployment.
+ * Missing values are only reported if all config sources are available - e.g. the context-params of the web.xml
+ * get merged on the first request.
+ */
+public class ConfigValidationExtension implements Extension
+{
+    private static final Logger LOGGER = Logger.getLogger(ConfigValidationExtension.class.getName());
+
+    private List<InjectionPoint> configValueInjectionPoints = new ArrayList<InjectionPoint>();
+
+    public void collectInjectionPoints(@Observes ProcessInjectionTarget processInjectionTarget)
+    {
+        for(Object injectionPoint : processInjectionTarget.getInjectionTarget().getInjectionPoints())
+        {
+            addConfigValueInjectionPoint((InjectionPoint)injectionPoint);
+        }
+    }
+
+    public void collectProducerInjectionPoints(@Observes ProcessProducer processProducer)
+    {
+        for(Object injectionPoint : processProducer.getProducer().getInjectionPoints())
+        {
+            addConfigValueInjectionPoint((InjectionPoint)injectionPoint);
+        }
+    }
+
+    private void addConfigValueInjectionPoint(InjectionPoint injectionPoint)
+    {
+        if(ConfigValueProducer.isConfigValueInjectionPoint(injectionPoint))
+        {
+            this.configValueInjectionPoints.add(injectionPoint);
+        }
+    }
+
+    public void validateConfigValues(@Observes AfterDeploymentValidation afterDeploymentValidation,
+                                     BeanManager beanManager)
+    {
+        List<InjectionPoint> injectionPoints = this.configValueInjectionPoints;
+        this.configValueInjectionPoints = null;
+
+        if(injectionPoints.isEmpty())
+        {
+            return;
+        }
+
+        TypedConfigManager typedConfigManager = getReference(beanManager, TypedConfigManager.class);
+        boolean configComplete =
+                getReference(beanManager, InitParameterConfigManager.class, new InitParameterLiteral()).isComplete();
+
+        for(InjectionPoint injectionPoint : injectionPoints)
+        {
+            try
+            {
+                ConfigValueProducer.resolveValue(injectionPoint, typedConfigManager);
+            }
+            catch (IllegalStateException e)
+            {
+                //missing value - it might be provided by a source which isn't merged yet
+                if(configComplete)
+                {
+                    afterDeploymentValidation.addDeploymentProblem(e);
+                }
+                else
+                {
+                    LOGGER.info(e.getMessage() + " - not all config sources are available during the deployment, " +
+                            "the value is checked as soon as it gets injected");
+                }
+            }
+            catch (RuntimeException e)
+            {
+                afterDeploymentValidation.addDeploymentProblem(e);
+            }
+        }
+    }
+
+    private <T> T getReference(BeanManager beanManager, Class<T> type, Annotation... qualifiers)
+    {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(type, qualifiers));
+        //noinspection unchecked
+        return (T)beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+    }
+
+    private static class InitParameterLiteral extends AnnotationLiteral<InitParameter> implements InitParameter
+    {
+        private static final long serialVersionUID = -2390436263178651453L;
+
+        public Class value()
+        {
+            return InitParameter.class;
+        }
+
+        public String name()
+        {
+            return "";
+        }
+    }
+}
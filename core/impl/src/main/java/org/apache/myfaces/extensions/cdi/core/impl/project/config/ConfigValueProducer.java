@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameter;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.TypedConfigManager;
+
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.Typed;
+import javax.enterprise.inject.spi.InjectionPoint;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Producers for injection points like <code>@InitParameter(name = "pool.size") int poolSize</code>
+ */
+@Typed()
+public class ConfigValueProducer
+{
+    protected ConfigValueProducer()
+    {
+        //required for proxy libs
+    }
+
+    @Produces
+    @InitParameter
+    public String createStringValue(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        return (String)resolveValue(injectionPoint, typedConfigManager);
+    }
+
+    @Produces
+    @InitParameter
+    public int createIntValue(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        return (Integer)resolveValue(injectionPoint, typedConfigManager);
+    }
+
+    @Produces
+    @InitParameter
+    public long createLongValue(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        return (Long)resolveValue(injectionPoint, typedConfigManager);
+    }
+
+    @Produces
+    @InitParameter
+    public boolean createBooleanValue(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        return (Boolean)resolveValue(injectionPoint, typedConfigManager);
+    }
+
+    @Produces
+    @InitParameter
+    public List<String> createStringValues(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        //noinspection unchecked
+        return (List<String>)resolveValue(injectionPoint, typedConfigManager);
+    }
+
+    static boolean isConfigValueInjectionPoint(InjectionPoint injectionPoint)
+    {
+        String key = getConfigKey(injectionPoint);
+        return key != null && key.length() > 0;
+    }
+
+    /**
+     * @param injectionPoint injection point of a config value
+     * @param typedConfigManager current config manager
+     * @return the converted value
+     * @throws IllegalArgumentException if the value is invalid
+     * @throws IllegalStateException if there is no value for a type other than String
+     */
+    static Object resolveValue(InjectionPoint injectionPoint, TypedConfigManager typedConfigManager)
+    {
+        String key = getConfigKey(injectionPoint);
+
+        if(key == null || key.length() == 0)
+        {
+            throw new IllegalStateException("@" + InitParameter.class.getName() +
+                    " requires the name of the config entry for " + injectionPoint.getMember());
+        }
+
+        Type type = injectionPoint.getType();
+
+        if(type instanceof ParameterizedType)
+        {
+            Type elementType = ((ParameterizedType)type).getActualTypeArguments()[0];
+            return typedConfigManager.getValues(key, (Class)elementType);
+        }
+
+        Object result = typedConfigManager.getValue(key, (Class)type);
+
+        //Integer, Long and Boolean injection points are served by the producers for the primitive types
+        if(result == null && !String.class.equals(type))
+        {
+            throw new IllegalStateException("no value for the config entry " + key + " required by " +
+                    injectionPoint.getMember());
+        }
+        return result;
+    }
+
+    private static String getConfigKey(InjectionPoint injectionPoint)
+    {
+        for(Annotation qualifier : injectionPoint.getQualifiers())
+        {
+            if(qualifier instanceof InitParameter)
+            {
+                return ((InitParameter)qualifier).name();
+            }
+        }
+        return null;
+    }
+}
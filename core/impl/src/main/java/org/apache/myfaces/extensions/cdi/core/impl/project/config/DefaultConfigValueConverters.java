@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigValueConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class DefaultConfigValueConverters
+{
+    private DefaultConfigValueConverters()
+    {
+        //no instance allowed
+    }
+
+    static Map<Class, ConfigValueConverter> createConverters()
+    {
+        Map<Class, ConfigValueConverter> result = new HashMap<Class, ConfigValueConverter>();
+
+        result.put(String.class, new StringConverter());
+        result.put(Integer.class, new IntegerConverter());
+        result.put(Long.class, new LongConverter());
+        result.put(Boolean.class, new BooleanConverter());
+        return result;
+    }
+
+    static Class getWrapperType(Class targetType)
+    {
+        if(!targetType.isPrimitive())
+        {
+            return targetType;
+        }
+
+        if(int.class.equals(targetType))
+        {
+            return Integer.class;
+        }
+        if(long.class.equals(targetType))
+        {
+            return Long.class;
+        }
+        if(boolean.class.equals(targetType))
+        {
+            return Boolean.class;
+        }
+        return targetType;
+    }
+
+    private static class StringConverter implements ConfigValueConverter<String>
+    {
+        public Class<String> getTargetType()
+        {
+            return String.class;
+        }
+
+        public String convert(String value)
+        {
+            return value;
+        }
+    }
+
+    private static class IntegerConverter implements ConfigValueConverter<Integer>
+    {
+        public Class<Integer> getTargetType()
+        {
+            return Integer.class;
+        }
+
+        public Integer convert(String value)
+        {
+            return Integer.valueOf(value.trim());
+        }
+    }
+
+    private static class LongConverter implements ConfigValueConverter<Long>
+    {
+        public Class<Long> getTargetType()
+        {
+            return Long.class;
+        }
+
+        public Long convert(String value)
+        {
+            return Long.valueOf(value.trim());
+        }
+    }
+
+    private static class BooleanConverter implements ConfigValueConverter<Boolean>
+    {
+        public Class<Boolean> getTargetType()
+        {
+            return Boolean.class;
+        }
+
+        //Boolean#valueOf would accept every value
+        public Boolean convert(String value)
+        {
+            String trimmedValue = value.trim();
+
+            if("true".equalsIgnoreCase(trimmedValue))
+            {
+                return Boolean.TRUE;
+            }
+            if("false".equalsIgnoreCase(trimmedValue))
+            {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException(value + " isn't a boolean value");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigChangedEvent;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigManager;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigValueConverter;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameter;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.TypedConfigManager;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Converts the values of the {@link InitParameter} {@link ConfigManager} and caches them until they get changed.
+ */
+@ApplicationScoped
+public class DefaultTypedConfigManager implements TypedConfigManager
+{
+    //marker for entries without value
+    private static final Object NO_VALUE = new Object();
+
+    @Inject
+    @InitParameter
+    private ConfigManager<String, String> configManager;
+
+    @Inject
+    @Any
+    private Instance<ConfigValueConverter> customConverters;
+
+    private volatile Map<Class, ConfigValueConverter> converters;
+
+    private final ConcurrentMap<ConvertedValueKey, Object> convertedValues =
+            new ConcurrentHashMap<ConvertedValueKey, Object>();
+
+    public <T> T getValue(String key, Class<T> targetType)
+    {
+        ConvertedValueKey convertedValueKey = new ConvertedValueKey(key, targetType, false);
+        Object result = this.convertedValues.get(convertedValueKey);
+
+        if(result == null)
+        {
+            String value = this.configManager.getValue(key);
+
+            result = value != null ? convert(key, value, targetType) : NO_VALUE;
+            this.convertedValues.put(convertedValueKey, result);
+        }
+
+        if(result == NO_VALUE)
+        {
+            return null;
+        }
+        //noinspection unchecked
+        return (T)result;
+    }
+
+    public <T> List<T> getValues(String key, Class<T> elementType)
+    {
+        ConvertedValueKey convertedValueKey = new ConvertedValueKey(key, elementType, true);
+        Object result = this.convertedValues.get(convertedValueKey);
+
+        if(result == null)
+        {
+            List<Object> values = new ArrayList<Object>();
+            String value = this.configManager.getValue(key);
+
+            if(value != null)
+            {
+                for(String currentValue : value.split(","))
+                {
+                    if(currentValue.trim().length() > 0)
+                    {
+                        values.add(convert(key, currentValue.trim(), elementType));
+                    }
+                }
+            }
+
+            result = Collections.unmodifiableList(values);
+            this.convertedValues.put(convertedValueKey, result);
+        }
+        //noinspection unchecked
+        return (List<T>)result;
+    }
+
+    public void onConfigChanged(@Observes ConfigChangedEvent configChangedEvent)
+    {
+        for(ConvertedValueKey convertedValueKey : this.convertedValues.keySet())
+        {
+            if(configChangedEvent.isChanged(convertedValueKey.key))
+            {
+                this.convertedValues.remove(convertedValueKey);
+            }
+        }
+    }
+
+    private Object convert(String key, String value, Class targetType)
+    {
+        Class wrapperType = DefaultConfigValueConverters.getWrapperType(targetType);
+        ConfigValueConverter converter = getConverters().get(wrapperType);
+
+        try
+        {
+            if(converter != null)
+            {
+                return converter.convert(value);
+            }
+
+            if(wrapperType.isEnum())
+            {
+                //noinspection unchecked
+                return Enum.valueOf(wrapperType, value.trim());
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("invalid value for the config entry " + key + ": " + value +
+                    " can't be converted to " + targetType.getName() + " - " + e.getMessage());
+        }
+        throw new IllegalArgumentException("no converter found for " + targetType.getName() +
+                " - used by the config entry " + key);
+    }
+
+    private Map<Class, ConfigValueConverter> getConverters()
+    {
+        if(this.converters == null)
+        {
+            Map<Class, ConfigValueConverter> result = DefaultConfigValueConverters.createConverters();
+
+            if(this.customConverters != null)
+            {
+                for(ConfigValueConverter converter : this.customConverters)
+                {
+                    result.put(converter.getTargetType(), converter);
+                }
+            }
+            this.converters = Collections.unmodifiableMap(result);
+        }
+        return this.converters;
+    }
+
+    private static class ConvertedValueKey
+    {
+        private final String key;
+
+        private final Class targetType;
+
+        private final boolean multiValue;
+
+        private ConvertedValueKey(String key, Class targetType, boolean multiValue)
+        {
+            this.key = key;
+            this.targetType = targetType;
+            this.multiValue = multiValue;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ConvertedValueKey))
+            {
+                return false;
+            }
+
+            ConvertedValueKey that = (ConvertedValueKey) o;
+            return this.multiValue == that.multiValue && this.key.equals(that.key) &&
+                    this.targetType.equals(that.targetType);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = this.key.hashCode();
+            result = 31 * result + this.targetType.hashCode();
+            result = 31 * result + (this.multiValue ? 1 : 0);
+            return result;
+        }
+    }
+}
@@ -18,15 +18,254 @@
  */
 package org.apache.myfaces.extensions.cdi.core.impl.project.config;
 
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigChangedEvent;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigManager;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigSource;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.DeferredConfigSource;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameter;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameterNames;
 
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Merges the entries of all {@link ConfigSource}s once - a lookup is just a lookup in the current snapshot.
+ * {@link DeferredConfigSource}s which aren't available during the merge (e.g. the web.xml without request)
+ * get merged as soon as they are available.
+ * If a config file is configured, a change of the file leads to a new snapshot.
+ */
+@ApplicationScoped
 @InitParameter
 public class InitParameterConfigManager implements ConfigManager<String, String>
 {
+    private static final Logger LOGGER = Logger.getLogger(InitParameterConfigManager.class.getName());
+
+    private static final long DEFAULT_CONFIG_FILE_CHECK_INTERVAL = 10;
+
+    @Inject
+    @Any
+    private Instance<ConfigSource> customConfigSources;
+
+    @Inject
+    private ConfigFileWatcherExtension configFileWatcherExtension;
+
+    @Inject
+    private Event<ConfigChangedEvent> configChangedEvent;
+
+    private final AtomicReference<ConfigSnapshot> configSnapshot = new AtomicReference<ConfigSnapshot>();
+
+    //written before the first snapshot gets published
+    private volatile List<DeferredConfigSource> pendingConfigSources = Collections.emptyList();
+
     public String getValue(String key)
     {
-        return System.getProperty(InitParameterNames.APPLICATION_PROJECT_STAGE);
+        ConfigSnapshot currentConfigSnapshot = this.configSnapshot.get();
+
+        if(currentConfigSnapshot == null)
+        {
+            currentConfigSnapshot = initConfigSnapshot();
+        }
+
+        if(!this.pendingConfigSources.isEmpty() && isPendingConfigSourceAvailable())
+        {
+            currentConfigSnapshot = mergePendingConfigSources();
+        }
+        return currentConfigSnapshot.getValue(key);
+    }
+
+    /**
+     * @return false if there are deferred sources which aren't merged yet
+     */
+    public boolean isComplete()
+    {
+        if(this.configSnapshot.get() == null)
+        {
+            initConfigSnapshot();
+        }
+        return this.pendingConfigSources.isEmpty();
+    }
+
+    /**
+     * Lookup for the bootstrapping of the container - only the built-in sources are available at this point.
+     *
+     * @param key key of the config entry
+     * @return the value of the built-in sources or null if there is no entry for the given key
+     */
+    public static String getBootstrapValue(String key)
+    {
+        return ConfigSnapshot.create(createBuiltInConfigSources(new PropertyFileConfigSource())).getValue(key);
+    }
+
+    private static List<ConfigSource> createBuiltInConfigSources(PropertyFileConfigSource propertyFileConfigSource)
+    {
+        List<ConfigSource> result = new ArrayList<ConfigSource>();
+
+        result.add(new SystemPropertiesConfigSource());
+        result.add(new EnvironmentConfigSource());
+        result.add(new JndiConfigSource());
+        result.add(propertyFileConfigSource);
+        return result;
+    }
+
+    private synchronized ConfigSnapshot initConfigSnapshot()
+    {
+        ConfigSnapshot currentConfigSnapshot = this.configSnapshot.get();
+
+        if(currentConfigSnapshot != null)
+        {
+            return currentConfigSnapshot;
+        }
+
+        PropertyFileConfigSource propertyFileConfigSource = new PropertyFileConfigSource();
+        List<ConfigSource> configSources = createBuiltInConfigSources(propertyFileConfigSource);
+        List<DeferredConfigSource> newPendingConfigSources = new ArrayList<DeferredConfigSource>();
+
+        if(this.customConfigSources != null)
+        {
+            for(ConfigSource configSource : this.customConfigSources)
+            {
+                configSources.add(configSource);
+
+                if(configSource instanceof DeferredConfigSource &&
+                        !((DeferredConfigSource)configSource).isAvailable())
+                {
+                    newPendingConfigSources.add((DeferredConfigSource)configSource);
+                }
+            }
+        }
+
+        ConfigSnapshot newConfigSnapshot = ConfigSnapshot.create(configSources);
+
+        if(!newPendingConfigSources.isEmpty())
+        {
+            this.pendingConfigSources = newPendingConfigSources;
+        }
+        this.configSnapshot.set(newConfigSnapshot);
+
+        watchConfigFile(propertyFileConfigSource, newConfigSnapshot);
+        return newConfigSnapshot;
+    }
+
+    private boolean isPendingConfigSourceAvailable()
+    {
+        for(DeferredConfigSource configSource : this.pendingConfigSources)
+        {
+            if(configSource.isAvailable())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized ConfigSnapshot mergePendingConfigSources()
+    {
+        List<DeferredConfigSource> availableConfigSources = new ArrayList<DeferredConfigSource>();
+        List<DeferredConfigSource> remainingConfigSources = new ArrayList<DeferredConfigSource>();
+
+        for(DeferredConfigSource configSource : this.pendingConfigSources)
+        {
+            if(configSource.isAvailable())
+            {
+                availableConfigSources.add(configSource);
+            }
+            else
+            {
+                remainingConfigSources.add(configSource);
+            }
+        }
+
+        //updated before the reload - observers of the change event might use the config as well
+        if(remainingConfigSources.isEmpty())
+        {
+            this.pendingConfigSources = Collections.emptyList();
+        }
+        else
+        {
+            this.pendingConfigSources = remainingConfigSources;
+        }
+
+        for(DeferredConfigSource configSource : availableConfigSources)
+        {
+            reload(configSource);
+        }
+        return this.configSnapshot.get();
+    }
+
+    private void watchConfigFile(final PropertyFileConfigSource propertyFileConfigSource,
+                                 ConfigSnapshot currentConfigSnapshot)
+    {
+        File configFile = propertyFileConfigSource.getConfigFile();
+
+        if(configFile == null || this.configFileWatcherExtension == null)
+        {
+            return;
+        }
+
+        long checkInterval = getConfigFileCheckInterval(currentConfigSnapshot);
+
+        if(checkInterval <= 0)
+        {
+            return;
+        }
+
+        this.configFileWatcherExtension.watch(configFile, checkInterval, new Runnable()
+        {
+            public void run()
+            {
+                reload(propertyFileConfigSource);
+            }
+        });
+    }
+
+    private long getConfigFileCheckInterval(ConfigSnapshot currentConfigSnapshot)
+    {
+        String checkInterval = currentConfigSnapshot.getValue(InitParameterNames.CONFIG_FILE_CHECK_INTERVAL);
+
+        if(checkInterval == null)
+        {
+            return DEFAULT_CONFIG_FILE_CHECK_INTERVAL;
+        }
+
+        try
+        {
+            return Long.parseLong(checkInterval.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            LOGGER.warning("invalid value for " + InitParameterNames.CONFIG_FILE_CHECK_INTERVAL + ": " +
+                    checkInterval + " - the default value is used");
+            return DEFAULT_CONFIG_FILE_CHECK_INTERVAL;
+        }
+    }
+
+    private void reload(ConfigSource configSource)
+    {
+        ConfigSnapshot previousConfigSnapshot;
+        ConfigSnapshot newConfigSnapshot;
+
+        do
+        {
+            previousConfigSnapshot = this.configSnapshot.get();
+            newConfigSnapshot = previousConfigSnapshot.reload(configSource);
+        }
+        while(!this.configSnapshot.compareAndSet(previousConfigSnapshot, newConfigSnapshot));
+
+        Set<String> changedKeys = newConfigSnapshot.getChangedKeys(previousConfigSnapshot);
+
+        if(!changedKeys.isEmpty() && this.configChangedEvent != null)
+        {
+            this.configChangedEvent.fire(new ConfigChangedEvent(changedKeys));
+        }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigSource;
+
+import javax.enterprise.inject.Typed;
+import javax.naming.Binding;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entries of java:comp/env (only the first level)
+ */
+@Typed()
+class JndiConfigSource implements ConfigSource
+{
+    static final int ORDINAL = 150;
+
+    private static final String BASE_NAME = "java:comp/env";
+
+    private static final Logger LOGGER = Logger.getLogger(JndiConfigSource.class.getName());
+
+    public int getOrdinal()
+    {
+        return ORDINAL;
+    }
+
+    public Map<String, String> getProperties()
+    {
+        Map<String, String> result = new HashMap<String, String>();
+
+        try
+        {
+            NamingEnumeration<Binding> bindings = new InitialContext().listBindings(BASE_NAME);
+
+            while(bindings.hasMore())
+            {
+                Binding binding = bindings.next();
+                Object value = binding.getObject();
+
+                if(value != null && !(value instanceof Context))
+                {
+                    result.put(binding.getName(), value.toString());
+                }
+            }
+        }
+        catch (NamingException e)
+        {
+            LOGGER.log(Level.FINE, BASE_NAME + " isn't available", e);
+        }
+        return result;
+    }
+
+    public String getConfigName()
+    {
+        return "jndi";
+    }
+}
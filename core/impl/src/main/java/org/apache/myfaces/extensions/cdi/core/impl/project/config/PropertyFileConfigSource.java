@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigSource;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameterNames;
+import org.apache.myfaces.extensions.cdi.core.api.util.ClassUtils;
+
+import javax.enterprise.inject.Typed;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entries of all {@link #RESOURCE_NAME} files in the classpath and the (optional) file configured via
+ * the system property {@link InitParameterNames#CONFIG_FILE} - the file overrides the classpath entries.
+ */
+@Typed()
+class PropertyFileConfigSource implements ConfigSource
+{
+    static final int ORDINAL = 100;
+
+    static final String RESOURCE_NAME = "META-INF/myfaces-codi.properties";
+
+    private static final Logger LOGGER = Logger.getLogger(PropertyFileConfigSource.class.getName());
+
+    public int getOrdinal()
+    {
+        return ORDINAL;
+    }
+
+    public Map<String, String> getProperties()
+    {
+        Properties properties = new Properties();
+
+        try
+        {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+            if(classLoader == null)
+            {
+                classLoader = ClassUtils.class.getClassLoader();
+            }
+
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+
+            while(resources.hasMoreElements())
+            {
+                loadProperties(properties, resources.nextElement().openStream());
+            }
+
+            File configFile = getConfigFile();
+
+            if(configFile != null)
+            {
+                if(configFile.isFile())
+                {
+                    loadProperties(properties, new FileInputStream(configFile));
+                }
+                else
+                {
+                    LOGGER.warning("config file " + configFile.getAbsolutePath() + " doesn't exist");
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "failed to load the config files", e);
+        }
+
+        return SystemPropertiesConfigSource.toMap(properties);
+    }
+
+    File getConfigFile()
+    {
+        String configFileName = System.getProperty(InitParameterNames.CONFIG_FILE);
+
+        if(configFileName == null)
+        {
+            return null;
+        }
+        return new File(configFileName);
+    }
+
+    private void loadProperties(Properties properties, InputStream inputStream) throws IOException
+    {
+        try
+        {
+            properties.load(inputStream);
+        }
+        finally
+        {
+            inputStream.close();
+        }
+    }
+
+    public String getConfigName()
+    {
+        return "property-files";
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigSource;
+
+import javax.enterprise.inject.Typed;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+@Typed()
+class SystemPropertiesConfigSource implements ConfigSource
+{
+    static final int ORDINAL = 400;
+
+    public int getOrdinal()
+    {
+        return ORDINAL;
+    }
+
+    public Map<String, String> getProperties()
+    {
+        return toMap(System.getProperties());
+    }
+
+    static Map<String, String> toMap(Properties properties)
+    {
+        Map<String, String> result = new HashMap<String, String>();
+
+        for(Map.Entry<Object, Object> entry : properties.entrySet())
+        {
+            if(entry.getKey() instanceof String && entry.getValue() instanceof String)
+            {
+                result.put((String)entry.getKey(), (String)entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    public String getConfigName()
+    {
+        return "system-properties";
+    }
+}
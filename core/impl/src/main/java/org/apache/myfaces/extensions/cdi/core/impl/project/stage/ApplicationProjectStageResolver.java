@@ -25,12 +25,17 @@ import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageReso
 import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
 import static org.apache.myfaces.extensions.cdi.core.api.util.StringUtils.*;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+//the project-stage is resolved once
+@ApplicationScoped
 public class ApplicationProjectStageResolver implements ProjectStageResolver
 {
     private ConfigManager<String, String> configManager;
 
+    private volatile String projectStageName;
+
     protected ApplicationProjectStageResolver()
     {
         //required for proxy libs
@@ -43,6 +48,15 @@ public class ApplicationProjectStageResolver implements ProjectStageResolver
     }
 
     public String getCurrentProjectStageName()
+    {
+        if(this.projectStageName == null)
+        {
+            this.projectStageName = resolveProjectStageName();
+        }
+        return this.projectStageName;
+    }
+
+    private String resolveProjectStageName()
     {
         String result = this.configManager.getValue(InitParameterNames.APPLICATION_PROJECT_STAGE);
 
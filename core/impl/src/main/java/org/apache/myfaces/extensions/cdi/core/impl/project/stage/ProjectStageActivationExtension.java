@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.core.impl.project.stage;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameterNames;
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageActivated;
+import org.apache.myfaces.extensions.cdi.core.api.util.ProjectStageUtils;
+import org.apache.myfaces.extensions.cdi.core.impl.project.config.InitParameterConfigManager;
+import static org.apache.myfaces.extensions.cdi.core.api.util.StringUtils.isEmpty;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import java.util.logging.Logger;
+
+/**
+ * Vetoes all beans annotated with {@link ProjectStageActivated} which aren't active in the current project-stage.
+ * Beans are only vetoed if the project-stage is known during the deployment.
+ */
+public class ProjectStageActivationExtension implements Extension
+{
+    private static final Logger LOGGER = Logger.getLogger(ProjectStageActivationExtension.class.getName());
+
+    //null if the project-stage isn't known during the deployment
+    private String projectStageName;
+
+    public void resolveProjectStage(@Observes BeforeBeanDiscovery beforeBeanDiscovery)
+    {
+        String configuredProjectStageName =
+                InitParameterConfigManager.getBootstrapValue(InitParameterNames.APPLICATION_PROJECT_STAGE);
+
+        if(isEmpty(configuredProjectStageName))
+        {
+            //e.g. configured in the web.xml - the stage isn't available before the first request
+            this.projectStageName = null;
+            LOGGER.fine("the project-stage isn't available during the deployment - " +
+                    "beans annotated with @" + ProjectStageActivated.class.getName() + " won't be vetoed");
+            return;
+        }
+        this.projectStageName = configuredProjectStageName.trim();
+    }
+
+    public void vetoInactiveBeans(@Observes ProcessAnnotatedType processAnnotatedType)
+    {
+        if(this.projectStageName == null ||
+                !processAnnotatedType.getAnnotatedType().isAnnotationPresent(ProjectStageActivated.class))
+        {
+            return;
+        }
+
+        if(!ProjectStageUtils.isActivated(processAnnotatedType.getAnnotatedType().getJavaClass(),
+                this.projectStageName))
+        {
+            processAnnotatedType.veto();
+        }
+    }
+}
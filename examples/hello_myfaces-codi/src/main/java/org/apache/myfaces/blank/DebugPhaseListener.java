@@ -18,6 +18,7 @@
  */
 package org.apache.myfaces.blank;
 
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageActivated;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.JsfPhaseListener;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -27,6 +28,7 @@ import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseId;
 
 @JsfPhaseListener
+@ProjectStageActivated("Development")
 public class DebugPhaseListener implements PhaseListener
 {
     private static final Log LOG = LogFactory.getLog(DebugPhaseListener.class);
@@ -21,4 +21,36 @@ package org.apache.myfaces.extensions.cdi.javaee.jsf.api;
 public interface WebXmlParameterNames
 {
     public static final String PROJECT_STAGE_PARAMETER_NAME = "javax.faces.PROJECT_STAGE";
+
+    //0 (default) deactivates the phase metrics, 1 measures every request, n measures every n-th request
+    public static final String PHASE_METRICS_SAMPLING_RATE_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.PHASE_METRICS_SAMPLING_RATE";
+
+    //true activates the profiling of the phase-observers (default: false)
+    public static final String PHASE_OBSERVER_PROFILING_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.PHASE_OBSERVER_PROFILING";
+
+    //observer invocations which take longer (in milliseconds) get logged (default: 100)
+    public static final String PHASE_OBSERVER_PROFILING_THRESHOLD_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.PHASE_OBSERVER_PROFILING_THRESHOLD";
+
+    //number of threads for asynchronous phase-observers (default: 2)
+    public static final String ASYNCHRONOUS_OBSERVER_POOL_SIZE_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.ASYNCHRONOUS_OBSERVER_POOL_SIZE";
+
+    //max. number of pending notifications of asynchronous phase-observers (default: 1000)
+    public static final String ASYNCHRONOUS_OBSERVER_QUEUE_SIZE_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.ASYNCHRONOUS_OBSERVER_QUEUE_SIZE";
+
+    //CALLER_RUNS (default), DISCARD or DISCARD_OLDEST - used if the queue is full
+    public static final String ASYNCHRONOUS_OBSERVER_REJECTION_POLICY_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.ASYNCHRONOUS_OBSERVER_REJECTION_POLICY";
+
+    //max. number of views per session with view-scoped beans (default: 20)
+    public static final String VIEW_SCOPE_MAX_VIEWS_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.VIEW_SCOPE_MAX_VIEWS";
+
+    //true activates the estimation of the size of view-scoped beans (default: false)
+    public static final String VIEW_SCOPE_SIZE_ESTIMATION_PARAMETER_NAME =
+            "org.apache.myfaces.extensions.cdi.VIEW_SCOPE_SIZE_ESTIMATION";
 }
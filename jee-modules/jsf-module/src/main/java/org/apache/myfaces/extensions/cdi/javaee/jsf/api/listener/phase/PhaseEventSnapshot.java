@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable information about a phase for asynchronous phase-observers
+ * ({@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.Asynchronous}).
+ */
+public final class PhaseEventSnapshot implements Serializable
+{
+    private static final long serialVersionUID = 6029377140238491503L;
+
+    private final PhaseId phaseId;
+
+    private final boolean beforePhase;
+
+    private final String viewId;
+
+    private final long timestamp;
+
+    private final Map<String, String> requestParameters;
+
+    private final Map<String, Object> requestAttributes;
+
+    public PhaseEventSnapshot(PhaseId phaseId,
+                              boolean beforePhase,
+                              String viewId,
+                              long timestamp,
+                              Map<String, String> requestParameters,
+                              Map<String, Object> requestAttributes)
+    {
+        this.phaseId = phaseId;
+        this.beforePhase = beforePhase;
+        this.viewId = viewId;
+        this.timestamp = timestamp;
+        this.requestParameters = Collections.unmodifiableMap(new HashMap<String, String>(requestParameters));
+        this.requestAttributes = Collections.unmodifiableMap(new HashMap<String, Object>(requestAttributes));
+    }
+
+    public PhaseId getPhaseId()
+    {
+        return this.phaseId;
+    }
+
+    public boolean isBeforePhase()
+    {
+        return this.beforePhase;
+    }
+
+    /**
+     * @return the view-id of the request or null if there was no view
+     */
+    public String getViewId()
+    {
+        return this.viewId;
+    }
+
+    public long getTimestamp()
+    {
+        return this.timestamp;
+    }
+
+    /**
+     * @return the request parameters declared via
+     * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.Asynchronous}
+     */
+    public Map<String, String> getRequestParameters()
+    {
+        return this.requestParameters;
+    }
+
+    /**
+     * @return the request attributes declared via
+     * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.Asynchronous}
+     */
+    public Map<String, Object> getRequestAttributes()
+    {
+        return this.requestAttributes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return (this.beforePhase ? "before " : "after ") + this.phaseId + " of " + this.viewId;
+    }
+}
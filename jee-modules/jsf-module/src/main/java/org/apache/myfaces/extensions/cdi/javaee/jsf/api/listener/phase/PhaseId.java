@@ -18,6 +18,7 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase;
 
+//the ordinal is used for the serialized form of the phase qualifiers - don't reorder, just append
 public enum PhaseId
 {
     RESTORE_VIEW(javax.faces.event.PhaseId.RESTORE_VIEW),
@@ -28,6 +29,9 @@ public enum PhaseId
     RENDER_RESPONSE(javax.faces.event.PhaseId.RENDER_RESPONSE),
     ANY_PHASE(javax.faces.event.PhaseId.ANY_PHASE);
 
+    //indexed by the ordinal of javax.faces.event.PhaseId
+    private static final PhaseId[] FACES_PHASE_MAPPING = createFacesPhaseMapping();
+
     javax.faces.event.PhaseId phaseId;
 
     PhaseId(javax.faces.event.PhaseId phaseId)
@@ -42,41 +46,38 @@ public enum PhaseId
 
     public static PhaseId convertFromFacesClass(javax.faces.event.PhaseId phaseId)
     {
-        if(RESTORE_VIEW.getPhaseId().equals(phaseId))
+        if(phaseId == null)
         {
-            return RESTORE_VIEW;
+            return null;
         }
 
-        if(RENDER_RESPONSE.getPhaseId().equals(phaseId))
-        {
-            return RENDER_RESPONSE;
-        }
+        int ordinal = phaseId.getOrdinal();
 
-        if(APPLY_REQUEST_VALUES.getPhaseId().equals(phaseId))
+        if(ordinal < 0 || ordinal >= FACES_PHASE_MAPPING.length)
         {
-            return APPLY_REQUEST_VALUES;
+            return null;
         }
+        return FACES_PHASE_MAPPING[ordinal];
+    }
 
-        if(PROCESS_VALIDATIONS.getPhaseId().equals(phaseId))
-        {
-            return PROCESS_VALIDATIONS;
-        }
+    javax.faces.event.PhaseId getPhaseId()
+    {
+        return phaseId;
+    }
 
-        if(UPDATE_MODEL_VALUES.getPhaseId().equals(phaseId))
+    private static PhaseId[] createFacesPhaseMapping()
+    {
+        int maxOrdinal = 0;
+        for(PhaseId current : values())
         {
-            return UPDATE_MODEL_VALUES;
+            maxOrdinal = Math.max(maxOrdinal, current.getPhaseId().getOrdinal());
         }
 
-        if(INVOKE_APPLICATION.getPhaseId().equals(phaseId))
+        PhaseId[] result = new PhaseId[maxOrdinal + 1];
+        for(PhaseId current : values())
         {
-            return INVOKE_APPLICATION;
+            result[current.getPhaseId().getOrdinal()] = current;
         }
-
-        return null;
-    }
-
-    javax.faces.event.PhaseId getPhaseId()
-    {
-        return phaseId;
+        return result;
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase;
+
+import java.util.Set;
+
+/**
+ * Durations of the JSF lifecycle phases per view (in microseconds).
+ * The phases are measured if the sampling rate is configured via
+ * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames#PHASE_METRICS_SAMPLING_RATE_PARAMETER_NAME}
+ */
+public interface PhaseMetrics
+{
+    boolean isEnabled();
+
+    int getSamplingRate();
+
+    Set<String> getViewIds();
+
+    long getCount(PhaseId phaseId, String viewId);
+
+    long getTotalDuration(PhaseId phaseId, String viewId);
+
+    long getMaxDuration(PhaseId phaseId, String viewId);
+
+    /**
+     * @return the upper bound of the histogram bucket which contains the given percentile (0-100)
+     */
+    long getDurationPercentile(PhaseId phaseId, String viewId, double percentile);
+
+    /**
+     * @return the upper bounds of the histogram buckets - the last bucket (not contained) is unbounded
+     */
+    long[] getHistogramBounds();
+
+    /**
+     * @return the (non-cumulative) number of measurements per histogram bucket
+     */
+    long[] getHistogram(PhaseId phaseId, String viewId);
+
+    void reset();
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fired once per request after the last phase (incl. requests which were completed early).
+ * It's an alternative to observers of all phases which are only interested in the whole request.
+ */
+public final class RequestLifecycleCompleted
+{
+    private final String viewId;
+
+    //in microseconds
+    private final Map<PhaseId, Long> phaseDurations;
+
+    private final List<PhaseId> executedPhases;
+
+    private final List<PhaseId> skippedPhases;
+
+    public RequestLifecycleCompleted(String viewId, Map<PhaseId, Long> phaseDurations)
+    {
+        this.viewId = viewId;
+
+        Map<PhaseId, Long> durations = new EnumMap<PhaseId, Long>(PhaseId.class);
+        durations.putAll(phaseDurations);
+        this.phaseDurations = Collections.unmodifiableMap(durations);
+
+        List<PhaseId> executed = new ArrayList<PhaseId>();
+        List<PhaseId> skipped = new ArrayList<PhaseId>();
+
+        for(PhaseId phaseId : PhaseId.values())
+        {
+            if(PhaseId.ANY_PHASE.equals(phaseId))
+            {
+                continue;
+            }
+
+            if(durations.containsKey(phaseId))
+            {
+                executed.add(phaseId);
+            }
+            else
+            {
+                skipped.add(phaseId);
+            }
+        }
+        this.executedPhases = Collections.unmodifiableList(executed);
+        this.skippedPhases = Collections.unmodifiableList(skipped);
+    }
+
+    /**
+     * @return the view-id at the end of the request or null if there was no view
+     */
+    public String getViewId()
+    {
+        return this.viewId;
+    }
+
+    public List<PhaseId> getExecutedPhases()
+    {
+        return this.executedPhases;
+    }
+
+    public List<PhaseId> getSkippedPhases()
+    {
+        return this.skippedPhases;
+    }
+
+    /**
+     * @return the duration of the given phase (incl. the phase-observers) in microseconds or -1 if it was skipped
+     */
+    public long getPhaseDuration(PhaseId phaseId)
+    {
+        Long result = this.phaseDurations.get(phaseId);
+        return result != null ? result : -1;
+    }
+
+    /**
+     * @return the sum of all phase durations in microseconds
+     */
+    public long getTotalDuration()
+    {
+        long result = 0;
+        for(Long duration : this.phaseDurations.values())
+        {
+            result += duration;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "request lifecycle of " + this.viewId + " " + this.phaseDurations;
+    }
+}
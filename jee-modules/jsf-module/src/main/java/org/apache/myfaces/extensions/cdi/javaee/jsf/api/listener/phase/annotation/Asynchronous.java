@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation;
+
+import java.lang.annotation.Documented;
+import static java.lang.annotation.ElementType.METHOD;
+import java.lang.annotation.Retention;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import java.lang.annotation.Target;
+
+/**
+ * Observers of {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot}
+ * (qualified with {@link BeforePhase} or {@link AfterPhase}) get notified in a background thread.
+ * The snapshot is taken when the (before- or after-) phase event is broadcast, the observer may run later -
+ * for a {@link BeforePhase} observer possibly while (or after) the phase itself is processed.
+ * This annotation declares the request data which should be available in the snapshot.
+ * The observer shouldn't be a method of a request- or session-scoped bean.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+@Documented
+public @interface Asynchronous
+{
+    String[] requestParameters() default {};
+
+    String[] requestAttributes() default {};
+}
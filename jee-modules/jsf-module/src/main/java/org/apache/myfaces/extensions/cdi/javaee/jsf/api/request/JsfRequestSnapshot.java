@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.request;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+
+import javax.faces.context.FacesContext;
+
+/**
+ * Information about the current JSF request - created once per request (at the beginning of the lifecycle)
+ * and available via injection without client-proxy.
+ * Don't store it in beans which live longer than the request.
+ */
+public interface JsfRequestSnapshot
+{
+    FacesContext getFacesContext();
+
+    /**
+     * @return the id of the current view or null if there is no view (e.g. before the view is restored)
+     */
+    String getViewId();
+
+    boolean isPostback();
+
+    /**
+     * @return true for ajax requests which only process/render parts of the view
+     */
+    boolean isPartialRequest();
+
+    /**
+     * @return the current phase or null if the lifecycle wasn't started
+     */
+    PhaseId getCurrentPhaseId();
+}
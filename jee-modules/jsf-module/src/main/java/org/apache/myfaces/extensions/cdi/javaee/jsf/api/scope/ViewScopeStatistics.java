@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.scope;
+
+/**
+ * Application wide statistics of {@link ViewScoped} beans.
+ */
+public interface ViewScopeStatistics
+{
+    long getLiveViewCount();
+
+    long getLiveInstanceCount();
+
+    /**
+     * The size of the beans of a view is estimated at the end of the rendering via the serialization,
+     * if it's activated via
+     * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames#VIEW_SCOPE_SIZE_ESTIMATION_PARAMETER_NAME}
+     *
+     * @return the estimated size of all live beans in bytes
+     */
+    long getEstimatedRetainedSize();
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.api.scope;
+
+import javax.enterprise.context.NormalScope;
+import java.lang.annotation.Documented;
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import java.lang.annotation.Target;
+
+/**
+ * Beans are bound to the current view and get destroyed as soon as the user navigates to a different view.
+ * The number of views per session is limited via
+ * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames#VIEW_SCOPE_MAX_VIEWS_PARAMETER_NAME}
+ * - the beans of the least recently used view get destroyed if the limit is exceeded.
+ */
+@NormalScope(passivating = true)
+@Inherited
+@Target({TYPE, METHOD, FIELD})
+@Retention(RUNTIME)
+@Documented
+public @interface ViewScoped
+{
+}
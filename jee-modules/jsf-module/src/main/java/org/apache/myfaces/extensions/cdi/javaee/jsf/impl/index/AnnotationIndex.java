@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class-names of phase-listeners, @View annotated classes and classes with phase-observers
+ * of one archive - created by {@link AnnotationIndexProcessor} at compile time.
+ * Classes which aren't listed don't need a reflective check.
+ * Archives without index aren't represented by an instance.
+ */
+public final class AnnotationIndex
+{
+    private static final Logger LOGGER = Logger.getLogger(AnnotationIndex.class.getName());
+
+    public static final String INDEX_LOCATION = "META-INF/myfaces-codi-annotation.index";
+
+    static final String PHASE_LISTENER_PREFIX = "phase-listener:";
+
+    static final String VIEW_PREFIX = "view:";
+
+    static final String PHASE_OBSERVER_PREFIX = "phase-observer:";
+
+    private final Set<String> phaseListeners;
+
+    private final Set<String> viewControllers;
+
+    private final Set<String> phaseObservers;
+
+    private AnnotationIndex(Set<String> phaseListeners, Set<String> viewControllers, Set<String> phaseObservers)
+    {
+        this.phaseListeners = phaseListeners;
+        this.viewControllers = viewControllers;
+        this.phaseObservers = phaseObservers;
+    }
+
+    public boolean isPhaseListenerCandidate(Class targetClass)
+    {
+        return this.phaseListeners.contains(targetClass.getName());
+    }
+
+    public boolean isViewControllerCandidate(Class targetClass)
+    {
+        return this.viewControllers.contains(targetClass.getName());
+    }
+
+    public boolean isPhaseObserverCandidate(Class targetClass)
+    {
+        return this.phaseObservers.contains(targetClass.getName());
+    }
+
+    /**
+     * Loads all indexes visible to the given class-loader - the result is only needed during the bootstrapping
+     *
+     * @param classLoader class-loader of the application
+     * @return resolver for the index of the archive of a class
+     */
+    public static Resolver load(ClassLoader classLoader)
+    {
+        Map<String, AnnotationIndex> indexesByArchive = new ConcurrentHashMap<String, AnnotationIndex>();
+
+        if(classLoader == null)
+        {
+            return new Resolver(indexesByArchive);
+        }
+
+        try
+        {
+            Enumeration<URL> indexUrls = classLoader.getResources(INDEX_LOCATION);
+
+            while(indexUrls.hasMoreElements())
+            {
+                URL indexUrl = indexUrls.nextElement();
+                AnnotationIndex annotationIndex = read(indexUrl);
+
+                if(annotationIndex != null)
+                {
+                    indexesByArchive.put(toArchiveLocation(indexUrl.toExternalForm()), annotationIndex);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "annotation indexes can't be loaded - reflection is used", e);
+            indexesByArchive.clear();
+        }
+        return new Resolver(indexesByArchive);
+    }
+
+    private static AnnotationIndex read(URL indexUrl)
+    {
+        Set<String> phaseListeners = new HashSet<String>();
+        Set<String> viewControllers = new HashSet<String>();
+        Set<String> phaseObservers = new HashSet<String>();
+
+        InputStream inputStream = null;
+        try
+        {
+            inputStream = indexUrl.openStream();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+
+            String line;
+            while((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+
+                if(line.startsWith(PHASE_LISTENER_PREFIX))
+                {
+                    phaseListeners.add(line.substring(PHASE_LISTENER_PREFIX.length()));
+                }
+                else if(line.startsWith(VIEW_PREFIX))
+                {
+                    viewControllers.add(line.substring(VIEW_PREFIX.length()));
+                }
+                else if(line.startsWith(PHASE_OBSERVER_PREFIX))
+                {
+                    phaseObservers.add(line.substring(PHASE_OBSERVER_PREFIX.length()));
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "annotation index " + indexUrl + " can't be read - reflection is used", e);
+            return null;
+        }
+        finally
+        {
+            if(inputStream != null)
+            {
+                try
+                {
+                    inputStream.close();
+                }
+                catch (IOException e)
+                {
+                    //do nothing
+                }
+            }
+        }
+
+        return new AnnotationIndex(Collections.unmodifiableSet(phaseListeners),
+                Collections.unmodifiableSet(viewControllers),
+                Collections.unmodifiableSet(phaseObservers));
+    }
+
+    //jar:file:/lib/a.jar!/META-INF/x.index -> file:/lib/a.jar and file:/classes/META-INF/x.index -> file:/classes/
+    private static String toArchiveLocation(String indexUrl)
+    {
+        String result = indexUrl.substring(0, indexUrl.length() - INDEX_LOCATION.length());
+
+        if(result.startsWith("jar:") && result.endsWith("!/"))
+        {
+            result = result.substring("jar:".length(), result.length() - "!/".length());
+        }
+        return result;
+    }
+
+    public static final class Resolver
+    {
+        private final Map<String, AnnotationIndex> indexesByArchive;
+
+        private final Map<ProtectionDomain, AnnotationIndex> indexesByProtectionDomain =
+                new ConcurrentHashMap<ProtectionDomain, AnnotationIndex>();
+
+        private final Set<ProtectionDomain> unindexedProtectionDomains =
+                Collections.synchronizedSet(new HashSet<ProtectionDomain>());
+
+        private Resolver(Map<String, AnnotationIndex> indexesByArchive)
+        {
+            this.indexesByArchive = indexesByArchive;
+        }
+
+        /**
+         * @param targetClass current class
+         * @return the index of the archive of the class or null if the archive doesn't provide an index
+         */
+        public AnnotationIndex getIndex(Class targetClass)
+        {
+            if(this.indexesByArchive.isEmpty())
+            {
+                return null;
+            }
+
+            ProtectionDomain protectionDomain = targetClass.getProtectionDomain();
+
+            if(protectionDomain == null)
+            {
+                return null;
+            }
+
+            AnnotationIndex result = this.indexesByProtectionDomain.get(protectionDomain);
+
+            if(result != null || this.unindexedProtectionDomains.contains(protectionDomain))
+            {
+                return result;
+            }
+
+            CodeSource codeSource = protectionDomain.getCodeSource();
+
+            if(codeSource != null && codeSource.getLocation() != null)
+            {
+                result = this.indexesByArchive.get(codeSource.getLocation().toExternalForm());
+            }
+
+            if(result != null)
+            {
+                this.indexesByProtectionDomain.put(protectionDomain, result);
+            }
+            else
+            {
+                this.unindexedProtectionDomains.add(protectionDomain);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the {@link AnnotationIndex} of the compiled classes.
+ * The index is also written if there are no annotated classes - an empty index allows to skip the whole archive.
+ * Entries of an existing index are kept for incremental builds - stale entries are harmless,
+ * because the index just pre-selects the classes which have to be checked at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public class AnnotationIndexProcessor extends AbstractProcessor
+{
+    private static final String JSF_PHASE_LISTENER =
+            "org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.JsfPhaseListener";
+
+    private static final String VIEW = "org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View";
+
+    private static final String BEFORE_PHASE =
+            "org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase";
+
+    private static final String AFTER_PHASE =
+            "org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase";
+
+    private final Set<String> entries = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment)
+    {
+        if(roundEnvironment.processingOver())
+        {
+            writeIndex();
+            return false;
+        }
+
+        for(TypeElement annotation : annotations)
+        {
+            String annotationName = annotation.getQualifiedName().toString();
+
+            if(!JSF_PHASE_LISTENER.equals(annotationName) && !VIEW.equals(annotationName) &&
+                    !BEFORE_PHASE.equals(annotationName) && !AFTER_PHASE.equals(annotationName))
+            {
+                continue;
+            }
+
+            for(Element element : roundEnvironment.getElementsAnnotatedWith(annotation))
+            {
+                TypeElement typeElement = findEnclosingType(element);
+
+                if(typeElement == null)
+                {
+                    continue;
+                }
+
+                String className = this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+
+                if(JSF_PHASE_LISTENER.equals(annotationName))
+                {
+                    this.entries.add(AnnotationIndex.PHASE_LISTENER_PREFIX + className);
+                }
+                else if(VIEW.equals(annotationName))
+                {
+                    this.entries.add(AnnotationIndex.VIEW_PREFIX + className);
+                }
+                //phase qualifiers of observer parameters (injection points of events aren't relevant)
+                else if(ElementKind.PARAMETER.equals(element.getKind()))
+                {
+                    this.entries.add(AnnotationIndex.PHASE_OBSERVER_PREFIX + className);
+                }
+            }
+        }
+        return false;
+    }
+
+    private TypeElement findEnclosingType(Element element)
+    {
+        Element current = element;
+
+        while(current != null && !(current instanceof TypeElement))
+        {
+            current = current.getEnclosingElement();
+        }
+        return (TypeElement)current;
+    }
+
+    private void writeIndex()
+    {
+        Filer filer = this.processingEnv.getFiler();
+
+        readExistingIndex(filer);
+
+        try
+        {
+            FileObject fileObject =
+                    filer.createResource(StandardLocation.CLASS_OUTPUT, "", AnnotationIndex.INDEX_LOCATION);
+
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(fileObject.openOutputStream(), "UTF-8"));
+            try
+            {
+                for(String entry : this.entries)
+                {
+                    writer.println(entry);
+                }
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (IOException e)
+        {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "annotation index of myfaces-codi can't be written: " + e.getMessage());
+        }
+    }
+
+    private void readExistingIndex(Filer filer)
+    {
+        try
+        {
+            FileObject existingIndex =
+                    filer.getResource(StandardLocation.CLASS_OUTPUT, "", AnnotationIndex.INDEX_LOCATION);
+
+            Reader reader = existingIndex.openReader(true);
+            try
+            {
+                BufferedReader bufferedReader = new BufferedReader(reader);
+                String line;
+                while((line = bufferedReader.readLine()) != null)
+                {
+                    if(line.trim().length() > 0)
+                    {
+                        this.entries.add(line.trim());
+                    }
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        catch (IOException e)
+        {
+            //no existing index (full build)
+        }
+        catch (IllegalArgumentException e)
+        {
+            //no existing index (full build)
+        }
+    }
+}
@@ -18,10 +18,50 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
 
 import javax.enterprise.util.AnnotationLiteral;
 
-abstract class AfterPhaseBinding extends AnnotationLiteral<AfterPhase> implements AfterPhase
+final class AfterPhaseBinding extends AnnotationLiteral<AfterPhase> implements AfterPhase
 {
-}
\ No newline at end of file
+    private static final long serialVersionUID = 490037768660184656L;
+
+    //shared literals - indexed by the ordinal of PhaseId
+    private static final AfterPhaseBinding[] BINDINGS = createAfterPhaseBindings();
+
+    private final PhaseId phaseId;
+
+    private AfterPhaseBinding(PhaseId phaseId)
+    {
+        this.phaseId = phaseId;
+    }
+
+    static AfterPhaseBinding of(PhaseId phaseId)
+    {
+        return BINDINGS[phaseId.ordinal()];
+    }
+
+    public PhaseId value()
+    {
+        return this.phaseId;
+    }
+
+    //compact form which is resolved to the shared literal
+    private Object writeReplace()
+    {
+        return new SerializedPhaseBinding(false, this.phaseId);
+    }
+
+    private static AfterPhaseBinding[] createAfterPhaseBindings()
+    {
+        PhaseId[] phaseIds = PhaseId.values();
+        AfterPhaseBinding[] result = new AfterPhaseBinding[phaseIds.length];
+
+        for(PhaseId phaseId : phaseIds)
+        {
+            result[phaseId.ordinal()] = new AfterPhaseBinding(phaseId);
+        }
+        return result;
+    }
+}
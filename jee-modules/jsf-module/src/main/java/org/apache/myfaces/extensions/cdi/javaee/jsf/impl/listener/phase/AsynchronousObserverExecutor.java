@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot;
+
+import javax.faces.context.ExternalContext;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded thread-pool for asynchronous phase-observers - it's created on first use,
+ * because the configuration is only available during a request.
+ */
+final class AsynchronousObserverExecutor
+{
+    private static final Logger LOGGER = Logger.getLogger(AsynchronousObserverExecutor.class.getName());
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private static final long SHUTDOWN_TIMEOUT = 5;
+
+    private volatile ThreadPoolExecutor executor;
+
+    private boolean shutdown;
+
+    void execute(Runnable task, ExternalContext externalContext)
+    {
+        ThreadPoolExecutor currentExecutor = this.executor;
+
+        if(currentExecutor == null)
+        {
+            currentExecutor = createExecutor(externalContext);
+
+            if(currentExecutor == null)
+            {
+                return;
+            }
+        }
+        currentExecutor.execute(task);
+    }
+
+    synchronized void shutdown()
+    {
+        this.shutdown = true;
+
+        if(this.executor == null)
+        {
+            return;
+        }
+
+        this.executor.shutdown();
+        try
+        {
+            if(!this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS))
+            {
+                this.executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        this.executor = null;
+    }
+
+    private synchronized ThreadPoolExecutor createExecutor(ExternalContext externalContext)
+    {
+        if(this.executor != null || this.shutdown)
+        {
+            return this.executor;
+        }
+
+        int poolSize = getIntParameter(externalContext,
+                WebXmlParameterNames.ASYNCHRONOUS_OBSERVER_POOL_SIZE_PARAMETER_NAME, DEFAULT_POOL_SIZE);
+        int queueSize = getIntParameter(externalContext,
+                WebXmlParameterNames.ASYNCHRONOUS_OBSERVER_QUEUE_SIZE_PARAMETER_NAME, DEFAULT_QUEUE_SIZE);
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize),
+                new ObserverThreadFactory(Thread.currentThread().getContextClassLoader()),
+                createRejectionPolicy(externalContext.getInitParameter(
+                        WebXmlParameterNames.ASYNCHRONOUS_OBSERVER_REJECTION_POLICY_PARAMETER_NAME)));
+        return this.executor;
+    }
+
+    private RejectedExecutionHandler createRejectionPolicy(String policyName)
+    {
+        if(policyName == null || "".equals(policyName.trim()) || "CALLER_RUNS".equals(policyName.trim()))
+        {
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+
+        if("DISCARD".equals(policyName.trim()))
+        {
+            return new ThreadPoolExecutor.DiscardPolicy()
+            {
+                @Override
+                public void rejectedExecution(Runnable task, ThreadPoolExecutor threadPoolExecutor)
+                {
+                    LOGGER.fine("queue of asynchronous phase-observers is full - notification discarded");
+                }
+            };
+        }
+
+        if("DISCARD_OLDEST".equals(policyName.trim()))
+        {
+            return new ThreadPoolExecutor.DiscardOldestPolicy();
+        }
+
+        LOGGER.warning("invalid value for " +
+                WebXmlParameterNames.ASYNCHRONOUS_OBSERVER_REJECTION_POLICY_PARAMETER_NAME + ": " + policyName +
+                " - the default value (CALLER_RUNS) is used");
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+
+    private int getIntParameter(ExternalContext externalContext, String parameterName, int defaultValue)
+    {
+        String value = externalContext.getInitParameter(parameterName);
+
+        if(value == null || "".equals(value.trim()))
+        {
+            return defaultValue;
+        }
+
+        try
+        {
+            int result = Integer.parseInt(value.trim());
+
+            if(result > 0)
+            {
+                return result;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            //the default value is used
+        }
+
+        LOGGER.warning("invalid value for " + parameterName + ": " + value +
+                " - the default value (" + defaultValue + ") is used");
+        return defaultValue;
+    }
+
+    private static class ObserverThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        private final ClassLoader classLoader;
+
+        private ObserverThreadFactory(ClassLoader classLoader)
+        {
+            this.classLoader = classLoader;
+        }
+
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "codi-asynchronous-observer-" + this.threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(this.classLoader);
+            return thread;
+        }
+    }
+
+    static class ObserverNotification implements Runnable
+    {
+        private final PhaseObserverEntry observer;
+
+        private final PhaseEventSnapshot snapshot;
+
+        ObserverNotification(PhaseObserverEntry observer, PhaseEventSnapshot snapshot)
+        {
+            this.observer = observer;
+            this.snapshot = snapshot;
+        }
+
+        public void run()
+        {
+            try
+            {
+                this.observer.getAsynchronousObserverMethod().notify(this.snapshot);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.log(Level.SEVERE,
+                        "asynchronous phase-observer " + this.observer.getObserverName() + " failed", e);
+            }
+        }
+    }
+}
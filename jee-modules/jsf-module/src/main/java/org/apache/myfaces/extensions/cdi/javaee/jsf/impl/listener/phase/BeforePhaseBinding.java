@@ -18,10 +18,50 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
 
 import javax.enterprise.util.AnnotationLiteral;
 
-abstract class BeforePhaseBinding extends AnnotationLiteral<BeforePhase> implements BeforePhase
+final class BeforePhaseBinding extends AnnotationLiteral<BeforePhase> implements BeforePhase
 {
+    private static final long serialVersionUID = 849645435335842723L;
+
+    //shared literals - indexed by the ordinal of PhaseId
+    private static final BeforePhaseBinding[] BINDINGS = createBeforePhaseBindings();
+
+    private final PhaseId phaseId;
+
+    private BeforePhaseBinding(PhaseId phaseId)
+    {
+        this.phaseId = phaseId;
+    }
+
+    static BeforePhaseBinding of(PhaseId phaseId)
+    {
+        return BINDINGS[phaseId.ordinal()];
+    }
+
+    public PhaseId value()
+    {
+        return this.phaseId;
+    }
+
+    //compact form which is resolved to the shared literal
+    private Object writeReplace()
+    {
+        return new SerializedPhaseBinding(true, this.phaseId);
+    }
+
+    private static BeforePhaseBinding[] createBeforePhaseBindings()
+    {
+        PhaseId[] phaseIds = PhaseId.values();
+        BeforePhaseBinding[] result = new BeforePhaseBinding[phaseIds.length];
+
+        for(PhaseId phaseId : phaseIds)
+        {
+            result[phaseId.ordinal()] = new BeforePhaseBinding(phaseId);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageActivated;
+import org.apache.myfaces.extensions.cdi.core.api.util.ProjectStageUtils;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.BeanManagerProvider;
+
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delegates to all {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.JsfPhaseListener}s
+ * - JSF only has to call one listener per phase and the composite only calls the listeners of the current phase.
+ * As defined by JSF the after-phase callbacks are invoked in reverse order.
+ * Listeners annotated with {@link ProjectStageActivated} are filtered before the first phase
+ * (the web.xml isn't available during the deployment).
+ */
+final class CompositePhaseListener implements PhaseListener
+{
+    private static final long serialVersionUID = -6211254719412407425L;
+
+    private static final Logger LOGGER = Logger.getLogger(CompositePhaseListener.class.getName());
+
+    private List<PhaseListener> phaseListeners;
+
+    //indexed by the ordinal of javax.faces.event.PhaseId - null as long as the project-stage isn't known
+    private volatile PhaseListener[][] beforePhaseListeners;
+
+    private volatile PhaseListener[][] afterPhaseListeners;
+
+    CompositePhaseListener(List<PhaseListener> phaseListeners)
+    {
+        this.phaseListeners = phaseListeners;
+
+        if(!isProjectStageRequired(phaseListeners))
+        {
+            initPhaseListeners(phaseListeners);
+        }
+    }
+
+    public void beforePhase(PhaseEvent phaseEvent)
+    {
+        if(this.beforePhaseListeners == null)
+        {
+            initActivePhaseListeners();
+        }
+
+        for(PhaseListener phaseListener : this.beforePhaseListeners[phaseEvent.getPhaseId().getOrdinal()])
+        {
+            try
+            {
+                phaseListener.beforePhase(phaseEvent);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.log(Level.SEVERE, "exception in beforePhase of " + phaseListener.getClass().getName() +
+                        " (" + phaseEvent.getPhaseId() + ")", e);
+            }
+        }
+    }
+
+    public void afterPhase(PhaseEvent phaseEvent)
+    {
+        if(this.afterPhaseListeners == null)
+        {
+            initActivePhaseListeners();
+        }
+
+        for(PhaseListener phaseListener : this.afterPhaseListeners[phaseEvent.getPhaseId().getOrdinal()])
+        {
+            try
+            {
+                phaseListener.afterPhase(phaseEvent);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.log(Level.SEVERE, "exception in afterPhase of " + phaseListener.getClass().getName() +
+                        " (" + phaseEvent.getPhaseId() + ")", e);
+            }
+        }
+    }
+
+    public PhaseId getPhaseId()
+    {
+        return PhaseId.ANY_PHASE;
+    }
+
+    private synchronized void initActivePhaseListeners()
+    {
+        if(this.beforePhaseListeners != null && this.afterPhaseListeners != null)
+        {
+            return;
+        }
+
+        ProjectStage projectStage = BeanManagerProvider.getContextualReference(ProjectStage.class);
+        List<PhaseListener> activePhaseListeners = new ArrayList<PhaseListener>();
+
+        for(PhaseListener phaseListener : this.phaseListeners)
+        {
+            if(ProjectStageUtils.isActivated(phaseListener.getClass(), projectStage))
+            {
+                activePhaseListeners.add(phaseListener);
+            }
+        }
+        initPhaseListeners(activePhaseListeners);
+    }
+
+    private void initPhaseListeners(List<PhaseListener> activePhaseListeners)
+    {
+        int phaseCount = PhaseId.VALUES.size();
+        PhaseListener[][] newBeforePhaseListeners = new PhaseListener[phaseCount][];
+        PhaseListener[][] newAfterPhaseListeners = new PhaseListener[phaseCount][];
+
+        for(int i = 0; i < phaseCount; i++)
+        {
+            PhaseId phaseId = (PhaseId)PhaseId.VALUES.get(i);
+            List<PhaseListener> result = new ArrayList<PhaseListener>();
+
+            for(PhaseListener phaseListener : activePhaseListeners)
+            {
+                if(PhaseId.ANY_PHASE.equals(phaseListener.getPhaseId()) || phaseId.equals(phaseListener.getPhaseId()))
+                {
+                    result.add(phaseListener);
+                }
+            }
+
+            newBeforePhaseListeners[phaseId.getOrdinal()] = result.toArray(new PhaseListener[result.size()]);
+            Collections.reverse(result);
+            newAfterPhaseListeners[phaseId.getOrdinal()] = result.toArray(new PhaseListener[result.size()]);
+        }
+
+        this.afterPhaseListeners = newAfterPhaseListeners;
+        this.beforePhaseListeners = newBeforePhaseListeners;
+        //not needed any longer
+        this.phaseListeners = null;
+    }
+
+    private boolean isProjectStageRequired(List<PhaseListener> phaseListeners)
+    {
+        for(PhaseListener phaseListener : phaseListeners)
+        {
+            if(phaseListener.getClass().isAnnotationPresent(ProjectStageActivated.class))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
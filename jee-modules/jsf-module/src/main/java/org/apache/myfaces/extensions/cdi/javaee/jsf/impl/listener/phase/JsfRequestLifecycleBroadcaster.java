@@ -20,23 +20,33 @@ package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.JsfLifecyclePhaseInformation;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.RequestLifecycleCompleted;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseObserverProfiler;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.request.DefaultJsfRequestSnapshot;
 
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
 import javax.faces.event.PhaseEvent;
 import javax.inject.Inject;
-import javax.inject.Named;
-import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Map;
 
-@RequestScoped
-@Named
+/**
+ * Stateless - the current phase of a request is stored in the request-snapshot.
+ */
+@ApplicationScoped
 public class JsfRequestLifecycleBroadcaster implements JsfLifecyclePhaseInformation
 {
-    static final String BEAN_NAME = "jsfRequestLifecycleBroadcaster";
+    private static final String LIFECYCLE_TRACKER_KEY =
+            JsfRequestLifecycleBroadcaster.class.getName() + ":lifecycleTracker";
 
-    private javax.faces.event.PhaseId facesPhaseId;
+    //the container notifies the observers -> the profiler just sees the whole delivery per phase
+    private static final String EVENT_DELIVERY_NAME = "cdi-event-delivery#";
 
     @Inject
     private Event<PhaseEvent> phaseEvent;
@@ -49,53 +59,190 @@ public class JsfRequestLifecycleBroadcaster implements JsfLifecyclePhaseInformat
     @AfterPhase(PhaseId.ANY_PHASE)
     private Event<PhaseEvent> afterAnyPhaseEvent;
 
+    @Inject
+    private Event<RequestLifecycleCompleted> requestLifecycleCompletedEvent;
+
+    @Inject
+    private PhaseListenerExtension phaseListenerExtension;
+
+    @Inject
+    private BeanManager beanManager;
+
+    //null as long as it wasn't checked - the requests are only tracked if there are observers
+    private volatile Boolean requestLifecycleObserved;
+
+    //pre-selected events - indexed by the ordinal of PhaseId
+    private volatile Event<PhaseEvent>[] beforePhaseEvents;
+
+    private volatile Event<PhaseEvent>[] afterPhaseEvents;
+
     void broadcastBeforeEvent(PhaseEvent phaseEvent)
     {
-        this.facesPhaseId = phaseEvent.getPhaseId();
+        PhaseId phaseId = PhaseId.convertFromFacesClass(phaseEvent.getPhaseId());
+        DefaultJsfRequestSnapshot.getOrCreate(phaseEvent.getFacesContext()).startPhase(phaseId);
+
+        if(isRequestLifecycleObserved())
+        {
+            getRequestLifecycleTracker(phaseEvent.getFacesContext().getExternalContext().getRequestMap())
+                    .startPhase(phaseId);
+        }
+
+        PhaseEventBus phaseEventBus = this.phaseListenerExtension.getPhaseEventBus();
+
+        if(phaseEventBus != null && phaseEventBus.broadcastBeforeEvent(phaseId, phaseEvent))
+        {
+            return;
+        }
 
-        this.phaseEvent.select(createAnnotationLiteral(phaseEvent.getPhaseId(), true)).fire(phaseEvent);
-        this.beforeAnyPhaseEvent.fire(phaseEvent);
+        firePhaseEvents(getBeforePhaseEvents()[phaseId.ordinal()], this.beforeAnyPhaseEvent, phaseEvent,
+                phaseId, true);
     }
 
     void broadcastAfterEvent(PhaseEvent phaseEvent)
     {
-        this.phaseEvent.select(createAnnotationLiteral(phaseEvent.getPhaseId(), false)).fire(phaseEvent);
-        this.afterAnyPhaseEvent.fire(phaseEvent);
+        PhaseId phaseId = PhaseId.convertFromFacesClass(phaseEvent.getPhaseId());
+
+        DefaultJsfRequestSnapshot.getOrCreate(phaseEvent.getFacesContext()).endPhase();
+        broadcastAfterPhaseObservers(phaseId, phaseEvent);
+
+        if(isRequestLifecycleObserved())
+        {
+            trackAfterPhase(phaseId, phaseEvent.getFacesContext());
+        }
+    }
+
+    private void broadcastAfterPhaseObservers(PhaseId phaseId, PhaseEvent phaseEvent)
+    {
+        PhaseEventBus phaseEventBus = this.phaseListenerExtension.getPhaseEventBus();
+
+        if(phaseEventBus != null && phaseEventBus.broadcastAfterEvent(phaseId, phaseEvent))
+        {
+            return;
+        }
+
+        firePhaseEvents(getAfterPhaseEvents()[phaseId.ordinal()], this.afterAnyPhaseEvent, phaseEvent,
+                phaseId, false);
+    }
+
+    private void firePhaseEvents(Event<PhaseEvent> phaseSpecificEvent,
+                                 Event<PhaseEvent> anyPhaseEvent,
+                                 PhaseEvent phaseEvent,
+                                 PhaseId phaseId,
+                                 boolean beforePhase)
+    {
+        PhaseObserverProfiler phaseObserverProfiler = this.phaseListenerExtension.getPhaseObserverProfiler();
+
+        if(phaseObserverProfiler == null || !phaseObserverProfiler.isEnabled(phaseEvent.getFacesContext()))
+        {
+            phaseSpecificEvent.fire(phaseEvent);
+            anyPhaseEvent.fire(phaseEvent);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        try
+        {
+            phaseSpecificEvent.fire(phaseEvent);
+            anyPhaseEvent.fire(phaseEvent);
+        }
+        finally
+        {
+            phaseObserverProfiler.record(EVENT_DELIVERY_NAME + (beforePhase ? "before" : "after") + phaseId.name(),
+                    phaseEvent, System.nanoTime() - startTime);
+        }
+    }
+
+    private void trackAfterPhase(PhaseId phaseId, FacesContext facesContext)
+    {
+        RequestLifecycleTracker requestLifecycleTracker =
+                getRequestLifecycleTracker(facesContext.getExternalContext().getRequestMap());
+
+        requestLifecycleTracker.stopPhase(phaseId);
+
+        if(PhaseId.RENDER_RESPONSE.equals(phaseId) || facesContext.getResponseComplete())
+        {
+            UIViewRoot viewRoot = facesContext.getViewRoot();
+            RequestLifecycleCompleted requestLifecycleCompleted =
+                    requestLifecycleTracker.complete(viewRoot != null ? viewRoot.getViewId() : null);
+
+            if(requestLifecycleCompleted != null)
+            {
+                this.requestLifecycleCompletedEvent.fire(requestLifecycleCompleted);
+            }
+        }
     }
 
-    private Annotation createAnnotationLiteral(javax.faces.event.PhaseId phaseId, boolean isBeforeEvent)
+    private RequestLifecycleTracker getRequestLifecycleTracker(Map<String, Object> requestMap)
     {
-        if (isBeforeEvent)
+        RequestLifecycleTracker result = (RequestLifecycleTracker)requestMap.get(LIFECYCLE_TRACKER_KEY);
+
+        if(result == null)
         {
-            return createBeforeLiteral(phaseId);
+            result = new RequestLifecycleTracker();
+            requestMap.put(LIFECYCLE_TRACKER_KEY, result);
         }
-        return createAfterLiteral(phaseId);
+        return result;
     }
 
-    private Annotation createBeforeLiteral(final javax.faces.event.PhaseId phaseId)
+    //the observers don't change after the deployment
+    private boolean isRequestLifecycleObserved()
     {
-        return new BeforePhaseBinding()
+        Boolean result = this.requestLifecycleObserved;
+
+        if(result == null)
+        {
+            result = !this.beanManager.resolveObserverMethods(
+                    new RequestLifecycleCompleted(null, Collections.<PhaseId, Long>emptyMap())).isEmpty();
+            this.requestLifecycleObserved = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private Event<PhaseEvent>[] getBeforePhaseEvents()
+    {
+        Event<PhaseEvent>[] result = this.beforePhaseEvents;
+
+        if(result == null)
         {
-            private static final long serialVersionUID = 849645435335842723L;
+            result = new Event[PhaseId.values().length];
 
-            public PhaseId value()
+            for(PhaseId phaseId : PhaseId.values())
             {
-                return PhaseId.convertFromFacesClass(phaseId);
+                result[phaseId.ordinal()] = this.phaseEvent.select(BeforePhaseBinding.of(phaseId));
             }
-        };
+            this.beforePhaseEvents = result;
+        }
+        return result;
     }
 
-    private Annotation createAfterLiteral(final javax.faces.event.PhaseId phaseId)
+    @SuppressWarnings({"unchecked"})
+    private Event<PhaseEvent>[] getAfterPhaseEvents()
     {
-        return new AfterPhaseBinding()
+        Event<PhaseEvent>[] result = this.afterPhaseEvents;
+
+        if(result == null)
         {
-            private static final long serialVersionUID = 490037768660184656L;
+            result = new Event[PhaseId.values().length];
 
-            public PhaseId value()
+            for(PhaseId phaseId : PhaseId.values())
             {
-                return PhaseId.convertFromFacesClass(phaseId);
+                result[phaseId.ordinal()] = this.phaseEvent.select(AfterPhaseBinding.of(phaseId));
             }
-        };
+            this.afterPhaseEvents = result;
+        }
+        return result;
+    }
+
+    private PhaseId getCurrentPhaseId()
+    {
+        DefaultJsfRequestSnapshot jsfRequestSnapshot = DefaultJsfRequestSnapshot.getCurrentInstance();
+
+        if(jsfRequestSnapshot == null)
+        {
+            return null;
+        }
+        return jsfRequestSnapshot.getCurrentPhaseId();
     }
 
     /*
@@ -103,31 +250,31 @@ public class JsfRequestLifecycleBroadcaster implements JsfLifecyclePhaseInformat
      */
     public boolean isRestoreViewPhase()
     {
-        return javax.faces.event.PhaseId.RESTORE_VIEW.equals(this.facesPhaseId);
+        return PhaseId.RESTORE_VIEW.equals(getCurrentPhaseId());
     }
 
     public boolean isApplyRequestValuesPhase()
     {
-        return javax.faces.event.PhaseId.APPLY_REQUEST_VALUES.equals(this.facesPhaseId);
+        return PhaseId.APPLY_REQUEST_VALUES.equals(getCurrentPhaseId());
     }
 
     public boolean isProcessValidationsPhase()
     {
-        return javax.faces.event.PhaseId.PROCESS_VALIDATIONS.equals(this.facesPhaseId);
+        return PhaseId.PROCESS_VALIDATIONS.equals(getCurrentPhaseId());
     }
 
     public boolean isUpdateModelValuesPhase()
     {
-        return javax.faces.event.PhaseId.UPDATE_MODEL_VALUES.equals(this.facesPhaseId);
+        return PhaseId.UPDATE_MODEL_VALUES.equals(getCurrentPhaseId());
     }
 
     public boolean isInvokeApplicationPhase()
     {
-        return javax.faces.event.PhaseId.INVOKE_APPLICATION.equals(this.facesPhaseId);
+        return PhaseId.INVOKE_APPLICATION.equals(getCurrentPhaseId());
     }
 
     public boolean isRenderResponsePhase()
     {
-        return javax.faces.event.PhaseId.RENDER_RESPONSE.equals(this.facesPhaseId);
+        return PhaseId.RENDER_RESPONSE.equals(getCurrentPhaseId());
     }
 }
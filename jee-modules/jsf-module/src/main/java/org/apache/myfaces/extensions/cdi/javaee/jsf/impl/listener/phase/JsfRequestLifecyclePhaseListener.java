@@ -19,8 +19,9 @@
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.JsfPhaseListener;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseMetricsRecorder;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.BeanManagerProvider;
 
-import javax.faces.context.FacesContext;
 import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseId;
 import javax.faces.event.PhaseListener;
@@ -30,22 +31,46 @@ public class JsfRequestLifecyclePhaseListener implements PhaseListener
 {
     private static final long serialVersionUID = -4351903831660165998L;
 
+    //resolved once - the broadcaster is application scoped
+    private transient volatile JsfRequestLifecycleBroadcaster broadcaster;
+
+    private transient volatile PhaseMetricsRecorder phaseMetricsRecorder;
+
     public void beforePhase(PhaseEvent phaseEvent)
     {
+        resolvePhaseMetricsRecorder().startPhase(phaseEvent);
         resolveBroadcaster().broadcastBeforeEvent(phaseEvent);
     }
 
     public void afterPhase(PhaseEvent phaseEvent)
     {
         resolveBroadcaster().broadcastAfterEvent(phaseEvent);
+        resolvePhaseMetricsRecorder().stopPhase(phaseEvent);
     }
 
     private JsfRequestLifecycleBroadcaster resolveBroadcaster()
     {
-        //cdi has to inject the event - TODO refactor it
-        FacesContext facesContext = FacesContext.getCurrentInstance();
-        return (JsfRequestLifecycleBroadcaster) facesContext.getApplication().getELResolver()
-                .getValue(facesContext.getELContext(), null, JsfRequestLifecycleBroadcaster.BEAN_NAME);
+        JsfRequestLifecycleBroadcaster result = this.broadcaster;
+
+        if(result == null)
+        {
+            result = BeanManagerProvider.getContextualReference(JsfRequestLifecycleBroadcaster.class);
+            this.broadcaster = result;
+        }
+        return result;
+    }
+
+    private PhaseMetricsRecorder resolvePhaseMetricsRecorder()
+    {
+        PhaseMetricsRecorder result = this.phaseMetricsRecorder;
+
+        if(result == null)
+        {
+            result = BeanManagerProvider.getContextualReference(PhaseListenerExtension.class)
+                    .getPhaseMetricsRecorder();
+            this.phaseMetricsRecorder = result;
+        }
+        return result;
     }
 
     public PhaseId getPhaseId()
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseObserverProfiler;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.event.PhaseEvent;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dispatch table for all observers of {@link PhaseEvent}s qualified with
+ * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase} or
+ * {@link org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase}.
+ * The observers are collected at deployment time and notified directly.
+ * If the container knows observers which aren't part of the table (e.g. observers without phase qualifier),
+ * the phase falls back to the delivery via cdi events.
+ * Observers of {@link PhaseEventSnapshot}s are always notified asynchronously by the bus.
+ */
+public final class PhaseEventBus
+{
+    //bound for the number of cached view-ids per phase - unknown view-ids get resolved on the fly afterwards
+    private static final int MAX_CACHED_VIEW_IDS = 512;
+
+    private final PhaseObservers[] beforePhaseObservers;
+
+    private final PhaseObservers[] afterPhaseObservers;
+
+    private final AsynchronousObserverExecutor asynchronousObserverExecutor = new AsynchronousObserverExecutor();
+
+    PhaseEventBus(List<PhaseObserverEntry> phaseObserverEntries,
+                  BeanManager beanManager,
+                  PhaseObserverProfiler phaseObserverProfiler)
+    {
+        PhaseId[] phaseIds = PhaseId.values();
+        this.beforePhaseObservers = new PhaseObservers[phaseIds.length];
+        this.afterPhaseObservers = new PhaseObservers[phaseIds.length];
+
+        for(PhaseId phaseId : phaseIds)
+        {
+            this.beforePhaseObservers[phaseId.ordinal()] =
+                    new PhaseObservers(phaseObserverEntries, phaseId, true, beanManager, phaseObserverProfiler,
+                            this.asynchronousObserverExecutor);
+            this.afterPhaseObservers[phaseId.ordinal()] =
+                    new PhaseObservers(phaseObserverEntries, phaseId, false, beanManager, phaseObserverProfiler,
+                            this.asynchronousObserverExecutor);
+        }
+    }
+
+    /**
+     * @return false if the observers have to be notified via cdi events
+     */
+    boolean broadcastBeforeEvent(PhaseId phaseId, PhaseEvent phaseEvent)
+    {
+        return broadcastEvent(this.beforePhaseObservers[phaseId.ordinal()], phaseEvent);
+    }
+
+    /**
+     * @return false if the observers have to be notified via cdi events
+     */
+    boolean broadcastAfterEvent(PhaseId phaseId, PhaseEvent phaseEvent)
+    {
+        return broadcastEvent(this.afterPhaseObservers[phaseId.ordinal()], phaseEvent);
+    }
+
+    private boolean broadcastEvent(PhaseObservers phaseObservers, PhaseEvent phaseEvent)
+    {
+        boolean result = phaseObservers.notifyObservers(phaseEvent);
+        phaseObservers.notifyAsynchronousObservers(phaseEvent);
+        return result;
+    }
+
+    void shutdown()
+    {
+        this.asynchronousObserverExecutor.shutdown();
+    }
+
+    private static String getViewId(PhaseEvent phaseEvent)
+    {
+        UIViewRoot viewRoot = phaseEvent.getFacesContext().getViewRoot();
+
+        if(viewRoot == null)
+        {
+            return null;
+        }
+        return viewRoot.getViewId();
+    }
+
+    private static class PhaseObservers
+    {
+        private final PhaseId phaseId;
+
+        private final boolean beforePhase;
+
+        private final BeanManager beanManager;
+
+        private final PhaseObserverProfiler phaseObserverProfiler;
+
+        private final AsynchronousObserverExecutor asynchronousObserverExecutor;
+
+        //observers of the phase followed by the observers of ANY_PHASE
+        private final PhaseObserverEntry[] entries;
+
+        private final PhaseObserverEntry[] asynchronousEntries;
+
+        private final boolean viewSpecific;
+
+        private final PhaseObserverEntry[] viewIndependentObservers;
+
+        private final ConcurrentMap<String, PhaseObserverEntry[]> observersByViewId =
+                new ConcurrentHashMap<String, PhaseObserverEntry[]>();
+
+        //null as long as it wasn't verified
+        private volatile Boolean eventDeliveryRequired;
+
+        private PhaseObservers(List<PhaseObserverEntry> phaseObserverEntries,
+                               PhaseId phaseId,
+                               boolean beforePhase,
+                               BeanManager beanManager,
+                               PhaseObserverProfiler phaseObserverProfiler,
+                               AsynchronousObserverExecutor asynchronousObserverExecutor)
+        {
+            this.phaseId = phaseId;
+            this.beforePhase = beforePhase;
+            this.beanManager = beanManager;
+            this.phaseObserverProfiler = phaseObserverProfiler;
+            this.asynchronousObserverExecutor = asynchronousObserverExecutor;
+
+            List<PhaseObserverEntry> result = new ArrayList<PhaseObserverEntry>();
+            addEntries(phaseObserverEntries, phaseId, false, result);
+
+            if(!PhaseId.ANY_PHASE.equals(phaseId))
+            {
+                addEntries(phaseObserverEntries, PhaseId.ANY_PHASE, false, result);
+            }
+
+            this.entries = result.toArray(new PhaseObserverEntry[result.size()]);
+
+            result.clear();
+            addEntries(phaseObserverEntries, phaseId, true, result);
+
+            if(!PhaseId.ANY_PHASE.equals(phaseId))
+            {
+                addEntries(phaseObserverEntries, PhaseId.ANY_PHASE, true, result);
+            }
+
+            this.asynchronousEntries = result.toArray(new PhaseObserverEntry[result.size()]);
+
+            boolean viewSpecificEntryFound = false;
+            for(PhaseObserverEntry entry : this.entries)
+            {
+                if(entry.isViewSpecific())
+                {
+                    viewSpecificEntryFound = true;
+                    break;
+                }
+            }
+            this.viewSpecific = viewSpecificEntryFound;
+            this.viewIndependentObservers = resolveObservers(null);
+        }
+
+        private void addEntries(List<PhaseObserverEntry> phaseObserverEntries,
+                                PhaseId targetPhaseId,
+                                boolean asynchronous,
+                                List<PhaseObserverEntry> result)
+        {
+            for(PhaseObserverEntry entry : phaseObserverEntries)
+            {
+                if(entry.isBeforePhase() == this.beforePhase && entry.isAsynchronous() == asynchronous &&
+                        targetPhaseId.equals(entry.getPhaseId()))
+                {
+                    result.add(entry);
+                }
+            }
+        }
+
+        private boolean notifyObservers(PhaseEvent phaseEvent)
+        {
+            if(isEventDeliveryRequired(phaseEvent))
+            {
+                return false;
+            }
+
+            if(this.entries.length == 0)
+            {
+                return true;
+            }
+
+            PhaseObserverEntry[] observers = getObservers(phaseEvent);
+
+            if(this.phaseObserverProfiler.isEnabled(phaseEvent.getFacesContext()))
+            {
+                notifyObserversWithProfiling(observers, phaseEvent);
+                return true;
+            }
+
+            for(PhaseObserverEntry observer : observers)
+            {
+                observer.getObserverMethod().notify(phaseEvent);
+            }
+            return true;
+        }
+
+        private void notifyAsynchronousObservers(PhaseEvent phaseEvent)
+        {
+            if(this.asynchronousEntries.length == 0)
+            {
+                return;
+            }
+
+            String viewId = getViewId(phaseEvent);
+            ExternalContext externalContext = phaseEvent.getFacesContext().getExternalContext();
+            long timestamp = System.currentTimeMillis();
+
+            for(PhaseObserverEntry entry : this.asynchronousEntries)
+            {
+                if(entry.isViewSpecific() && (viewId == null || !entry.isBoundToView(viewId)))
+                {
+                    continue;
+                }
+
+                PhaseEventSnapshot snapshot = createSnapshot(entry, viewId, timestamp, externalContext);
+                this.asynchronousObserverExecutor.execute(
+                        new AsynchronousObserverExecutor.ObserverNotification(entry, snapshot), externalContext);
+            }
+        }
+
+        @SuppressWarnings({"unchecked"})
+        private PhaseEventSnapshot createSnapshot(PhaseObserverEntry entry,
+                                                  String viewId,
+                                                  long timestamp,
+                                                  ExternalContext externalContext)
+        {
+            Map<String, String> requestParameters = new HashMap<String, String>();
+            if(entry.getRequestParameters().length > 0)
+            {
+                Map<String, String> requestParameterMap = externalContext.getRequestParameterMap();
+                for(String name : entry.getRequestParameters())
+                {
+                    requestParameters.put(name, requestParameterMap.get(name));
+                }
+            }
+
+            Map<String, Object> requestAttributes = new HashMap<String, Object>();
+            if(entry.getRequestAttributes().length > 0)
+            {
+                Map<String, Object> requestMap = externalContext.getRequestMap();
+                for(String name : entry.getRequestAttributes())
+                {
+                    requestAttributes.put(name, requestMap.get(name));
+                }
+            }
+
+            return new PhaseEventSnapshot(this.phaseId, this.beforePhase, viewId, timestamp,
+                    requestParameters, requestAttributes);
+        }
+
+        private void notifyObserversWithProfiling(PhaseObserverEntry[] observers, PhaseEvent phaseEvent)
+        {
+            for(PhaseObserverEntry observer : observers)
+            {
+                long startTime = System.nanoTime();
+                try
+                {
+                    observer.getObserverMethod().notify(phaseEvent);
+                }
+                finally
+                {
+                    this.phaseObserverProfiler.record(
+                            observer.getObserverName(), phaseEvent, System.nanoTime() - startTime);
+                }
+            }
+        }
+
+        private PhaseObserverEntry[] getObservers(PhaseEvent phaseEvent)
+        {
+            if(!this.viewSpecific)
+            {
+                return this.viewIndependentObservers;
+            }
+
+            String viewId = getViewId(phaseEvent);
+
+            if(viewId == null)
+            {
+                return this.viewIndependentObservers;
+            }
+
+            PhaseObserverEntry[] result = this.observersByViewId.get(viewId);
+
+            if(result == null)
+            {
+                result = resolveObservers(viewId);
+
+                if(this.observersByViewId.size() < MAX_CACHED_VIEW_IDS)
+                {
+                    this.observersByViewId.put(viewId, result);
+                }
+            }
+            return result;
+        }
+
+        private PhaseObserverEntry[] resolveObservers(String viewId)
+        {
+            List<PhaseObserverEntry> result = new ArrayList<PhaseObserverEntry>();
+
+            for(PhaseObserverEntry entry : this.entries)
+            {
+                if((viewId == null && !entry.isViewSpecific()) || (viewId != null && entry.isBoundToView(viewId)))
+                {
+                    result.add(entry);
+                }
+            }
+            return result.toArray(new PhaseObserverEntry[result.size()]);
+        }
+
+        private boolean isEventDeliveryRequired(PhaseEvent phaseEvent)
+        {
+            Boolean result = this.eventDeliveryRequired;
+
+            if(result == null)
+            {
+                result = !isObserverTableComplete(phaseEvent);
+                this.eventDeliveryRequired = result;
+            }
+            return result;
+        }
+
+        //the container has the final word - e.g. observers added by other extensions aren't part of the table
+        private boolean isObserverTableComplete(PhaseEvent phaseEvent)
+        {
+            Set<ObserverMethod<PhaseEvent>> knownObservers = new HashSet<ObserverMethod<PhaseEvent>>();
+            for(PhaseObserverEntry entry : this.entries)
+            {
+                knownObservers.add(entry.getObserverMethod());
+            }
+
+            if(!knownObservers.containsAll(
+                    this.beanManager.resolveObserverMethods(phaseEvent, createLiteral(this.phaseId))))
+            {
+                return false;
+            }
+
+            return PhaseId.ANY_PHASE.equals(this.phaseId) || knownObservers.containsAll(
+                    this.beanManager.resolveObserverMethods(phaseEvent, createLiteral(PhaseId.ANY_PHASE)));
+        }
+
+        private Annotation createLiteral(PhaseId targetPhaseId)
+        {
+            if(this.beforePhase)
+            {
+                return BeforePhaseBinding.of(targetPhaseId);
+            }
+            return AfterPhaseBinding.of(targetPhaseId);
+        }
+    }
+}
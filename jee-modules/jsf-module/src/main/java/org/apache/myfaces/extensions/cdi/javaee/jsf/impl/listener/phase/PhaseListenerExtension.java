@@ -18,36 +18,366 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
+import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.Asynchronous;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.JsfPhaseListener;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.index.AnnotationIndex;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseMetricsRecorder;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics.PhaseObserverProfiler;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.JsfUtils;
 import org.apache.myfaces.extensions.cdi.core.api.util.ClassUtils;
 
 import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.ProcessObserverMethod;
+import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseListener;
+import javax.interceptor.Interceptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class PhaseListenerExtension implements Extension
 {
+    //only available during the bootstrapping
+    private AnnotationIndex.Resolver annotationIndexResolver;
+
+    private List<Class> phaseListenerClasses = new ArrayList<Class>();
+
+    private List<PhaseObserverEntry> phaseObserverEntries = new ArrayList<PhaseObserverEntry>();
+
+    //e.g. unsupported view-id patterns - reported once the deployment gets validated
+    private List<RuntimeException> phaseObserverProblems = new ArrayList<RuntimeException>();
+
+    private PhaseEventBus phaseEventBus;
+
+    private PhaseMetricsRecorder phaseMetricsRecorder;
+
+    private PhaseObserverProfiler phaseObserverProfiler;
+
+    private final ConcurrentMap<Method, ViewControllerDescriptor> viewControllerDescriptors =
+            new ConcurrentHashMap<Method, ViewControllerDescriptor>();
+
+    public void loadAnnotationIndexes(@Observes BeforeBeanDiscovery beforeBeanDiscovery)
+    {
+        this.annotationIndexResolver = AnnotationIndex.load(Thread.currentThread().getContextClassLoader());
+    }
+
     public void filterJsfPhaseListeners(@Observes ProcessAnnotatedType processAnnotatedType)
     {
-        if (processAnnotatedType.getAnnotatedType().isAnnotationPresent(JsfPhaseListener.class))
+        AnnotationIndex annotationIndex = getAnnotationIndex(processAnnotatedType.getAnnotatedType().getJavaClass());
+
+        if(annotationIndex != null &&
+                !annotationIndex.isPhaseListenerCandidate(processAnnotatedType.getAnnotatedType().getJavaClass()))
         {
-            addPhaseListener(processAnnotatedType);
+            return;
+        }
 
+        if (processAnnotatedType.getAnnotatedType().isAnnotationPresent(JsfPhaseListener.class))
+        {
+            //the project-stage isn't final during the deployment -> the composite filters inactive listeners
+            this.phaseListenerClasses.add(processAnnotatedType.getAnnotatedType().getJavaClass());
             processAnnotatedType.veto();
         }
     }
 
-    private void addPhaseListener(ProcessAnnotatedType processAnnotatedType)
+    //a @View of the class is just relevant for the phase-observer methods
+    public void restrictViewControllerInterception(@Observes ProcessAnnotatedType processAnnotatedType)
+    {
+        AnnotatedType annotatedType = processAnnotatedType.getAnnotatedType();
+        AnnotationIndex annotationIndex = getAnnotationIndex(annotatedType.getJavaClass());
+
+        if(annotationIndex != null && !annotationIndex.isViewControllerCandidate(annotatedType.getJavaClass()))
+        {
+            return;
+        }
+
+        //the interceptor itself is annotated with @View
+        if(annotatedType.isAnnotationPresent(View.class) && !annotatedType.isAnnotationPresent(Interceptor.class))
+        {
+            processAnnotatedType.setAnnotatedType(new ViewControllerAnnotatedType(annotatedType));
+        }
+    }
+
+    //one composite for all phase-listeners - registered once the deployment is valid
+    public void registerPhaseListeners(@Observes AfterDeploymentValidation afterDeploymentValidation)
+    {
+        List<PhaseListener> phaseListeners = new ArrayList<PhaseListener>(this.phaseListenerClasses.size());
+
+        for(Class phaseListenerClass : this.phaseListenerClasses)
+        {
+            try
+            {
+                phaseListeners.add(createPhaseListenerInstance(phaseListenerClass));
+            }
+            catch (RuntimeException e)
+            {
+                afterDeploymentValidation.addDeploymentProblem(e);
+            }
+        }
+        this.phaseListenerClasses = null;
+
+        if(!phaseListeners.isEmpty())
+        {
+            JsfUtils.registerPhaseListener(new CompositePhaseListener(phaseListeners));
+        }
+    }
+
+    private PhaseListener createPhaseListenerInstance(Class phaseListenerClass)
+    {
+        if(!PhaseListener.class.isAssignableFrom(phaseListenerClass))
+        {
+            throw new IllegalStateException(phaseListenerClass.getName() + " is annotated with @" +
+                    JsfPhaseListener.class.getName() + " but doesn't implement " + PhaseListener.class.getName());
+        }
+        return (PhaseListener)ClassUtils.getInstanceFactory(phaseListenerClass).create();
+    }
+
+    public void collectPhaseObservers(@Observes ProcessObserverMethod processObserverMethod)
+    {
+        Class declaringClass = processObserverMethod.getAnnotatedMethod().getJavaMember().getDeclaringClass();
+        AnnotationIndex annotationIndex = getAnnotationIndex(declaringClass);
+
+        if(annotationIndex != null && !annotationIndex.isPhaseObserverCandidate(declaringClass))
+        {
+            return;
+        }
+
+        PhaseObserverEntry phaseObserverEntry;
+
+        try
+        {
+            phaseObserverEntry = createPhaseObserverEntry(
+                    processObserverMethod.getObserverMethod(), processObserverMethod.getAnnotatedMethod());
+        }
+        catch (IllegalArgumentException e)
+        {
+            this.phaseObserverProblems.add(new IllegalStateException("invalid @" + View.class.getName() + " of " +
+                    processObserverMethod.getAnnotatedMethod().getJavaMember(), e));
+            return;
+        }
+
+        if(phaseObserverEntry != null)
+        {
+            this.phaseObserverEntries.add(phaseObserverEntry);
+        }
+    }
+
+    public void createPhaseEventBus(@Observes AfterDeploymentValidation afterDeploymentValidation,
+                                    BeanManager beanManager)
+    {
+        for(RuntimeException phaseObserverProblem : this.phaseObserverProblems)
+        {
+            afterDeploymentValidation.addDeploymentProblem(phaseObserverProblem);
+        }
+        this.phaseObserverProblems = null;
+
+        this.phaseObserverProfiler = new PhaseObserverProfiler();
+        this.phaseObserverProfiler.registerMBean();
+
+        this.phaseEventBus = new PhaseEventBus(this.phaseObserverEntries, beanManager, this.phaseObserverProfiler);
+        this.phaseObserverEntries = null;
+        this.annotationIndexResolver = null;
+    }
+
+    public PhaseEventBus getPhaseEventBus()
+    {
+        return this.phaseEventBus;
+    }
+
+    public void createPhaseMetricsRecorder(@Observes AfterDeploymentValidation afterDeploymentValidation)
+    {
+        this.phaseMetricsRecorder = new PhaseMetricsRecorder();
+        this.phaseMetricsRecorder.registerMBean();
+    }
+
+    public void destroyPhaseMetricsRecorder(@Observes BeforeShutdown beforeShutdown)
+    {
+        if(this.phaseMetricsRecorder != null)
+        {
+            this.phaseMetricsRecorder.unregisterMBean();
+        }
+    }
+
+    public void destroyPhaseObserverProfiler(@Observes BeforeShutdown beforeShutdown)
+    {
+        if(this.phaseObserverProfiler != null)
+        {
+            this.phaseObserverProfiler.unregisterMBean();
+        }
+    }
+
+    public void shutdownAsynchronousObservers(@Observes BeforeShutdown beforeShutdown)
+    {
+        if(this.phaseEventBus != null)
+        {
+            this.phaseEventBus.shutdown();
+        }
+    }
+
+    public PhaseMetricsRecorder getPhaseMetricsRecorder()
     {
-        PhaseListener newPhaseListener = createPhaseListenerInstance(processAnnotatedType);
-        JsfUtils.registerPhaseListener(newPhaseListener);
+        return this.phaseMetricsRecorder;
     }
 
-    private PhaseListener createPhaseListenerInstance(ProcessAnnotatedType processAnnotatedType)
+    public PhaseObserverProfiler getPhaseObserverProfiler()
     {
-        return ClassUtils.tryToInstantiateClass(
-                processAnnotatedType.getAnnotatedType().getJavaClass(), PhaseListener.class);
+        return this.phaseObserverProfiler;
+    }
+
+    //the cache is bound to the lifetime of the extension and therefore to the application
+    public ViewControllerDescriptor getViewControllerDescriptor(Method method)
+    {
+        ViewControllerDescriptor result = this.viewControllerDescriptors.get(method);
+
+        if(result == null)
+        {
+            result = ViewControllerDescriptor.create(method);
+            this.viewControllerDescriptors.putIfAbsent(method, result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private PhaseObserverEntry createPhaseObserverEntry(ObserverMethod observerMethod, AnnotatedMethod annotatedMethod)
+    {
+        boolean asynchronousObserver = isAsynchronousObserver(observerMethod);
+
+        if(!asynchronousObserver && !isPhaseEventObserver(observerMethod))
+        {
+            return null;
+        }
+
+        PhaseId phaseId = null;
+        boolean beforePhase = false;
+
+        for(Annotation qualifier : (Iterable<Annotation>)observerMethod.getObservedQualifiers())
+        {
+            if(qualifier instanceof Any)
+            {
+                continue;
+            }
+
+            //such observers don't receive phase events or they have to be notified via cdi events
+            if(phaseId != null)
+            {
+                return null;
+            }
+
+            if(qualifier instanceof BeforePhase)
+            {
+                phaseId = ((BeforePhase)qualifier).value();
+                beforePhase = true;
+            }
+            else if(qualifier instanceof AfterPhase)
+            {
+                phaseId = ((AfterPhase)qualifier).value();
+            }
+            else
+            {
+                return null;
+            }
+        }
+
+        if(phaseId == null)
+        {
+            return null;
+        }
+
+        String observerName = createObserverName(observerMethod.getBeanClass(), annotatedMethod.getJavaMember());
+
+        if(asynchronousObserver)
+        {
+            Asynchronous asynchronous = annotatedMethod.getAnnotation(Asynchronous.class);
+
+            return new PhaseObserverEntry(observerMethod, observerName, phaseId, beforePhase,
+                    getViewIdFilter(annotatedMethod), true,
+                    asynchronous != null ? asynchronous.requestParameters() : null,
+                    asynchronous != null ? asynchronous.requestAttributes() : null);
+        }
+
+        return new PhaseObserverEntry(
+                observerMethod, observerName, phaseId, beforePhase, getViewIdFilter(annotatedMethod));
+    }
+
+    //nobody else fires snapshots - such observers are notified by the PhaseEventBus only
+    private boolean isAsynchronousObserver(ObserverMethod observerMethod)
+    {
+        return PhaseEventSnapshot.class.equals(observerMethod.getObservedType()) &&
+                TransactionPhase.IN_PROGRESS.equals(observerMethod.getTransactionPhase());
+    }
+
+    private boolean isPhaseEventObserver(ObserverMethod observerMethod)
+    {
+        Type observedType = observerMethod.getObservedType();
+
+        //transactional observers have to be notified by the container
+        return observedType instanceof Class && ((Class)observedType).isAssignableFrom(PhaseEvent.class) &&
+                TransactionPhase.IN_PROGRESS.equals(observerMethod.getTransactionPhase());
+    }
+
+    //null if there is no index for the archive of the class - in this case reflection is needed
+    private AnnotationIndex getAnnotationIndex(Class targetClass)
+    {
+        if(this.annotationIndexResolver == null)
+        {
+            return null;
+        }
+        return this.annotationIndexResolver.getIndex(targetClass);
+    }
+
+    //overloaded observer methods need distinct names (e.g. for the profiler)
+    private static String createObserverName(Class beanClass, Method method)
+    {
+        StringBuilder result = new StringBuilder(beanClass.getName()).append('#').append(method.getName()).append('(');
+
+        Class[] parameterTypes = method.getParameterTypes();
+        for(int i = 0; i < parameterTypes.length; i++)
+        {
+            if(i > 0)
+            {
+                result.append(',');
+            }
+            result.append(parameterTypes[i].getSimpleName());
+        }
+        return result.append(')').toString();
+    }
+
+    private ViewIdFilter getViewIdFilter(AnnotatedMethod annotatedMethod)
+    {
+        Class declaringClass = annotatedMethod.getJavaMember().getDeclaringClass();
+        AnnotationIndex annotationIndex = getAnnotationIndex(declaringClass);
+
+        if(annotationIndex != null && !annotationIndex.isViewControllerCandidate(declaringClass))
+        {
+            return null;
+        }
+
+        View view = annotatedMethod.getAnnotation(View.class);
+
+        if(view == null)
+        {
+            view = annotatedMethod.getJavaMember().getDeclaringClass().getAnnotation(View.class);
+        }
+
+        return ViewIdFilter.create(view);
     }
 }
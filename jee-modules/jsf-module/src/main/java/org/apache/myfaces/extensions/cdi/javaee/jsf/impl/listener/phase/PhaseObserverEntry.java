@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.faces.event.PhaseEvent;
+
+final class PhaseObserverEntry
+{
+    private final ObserverMethod<PhaseEvent> observerMethod;
+
+    //bean class and method - used for the profiling
+    private final String observerName;
+
+    private final PhaseId phaseId;
+
+    private final boolean beforePhase;
+
+    //null for observers which aren't restricted to specific views
+    private final ViewIdFilter viewIdFilter;
+
+    //true for observers of PhaseEventSnapshot
+    private final boolean asynchronous;
+
+    //request data for the snapshot of asynchronous observers
+    private final String[] requestParameters;
+
+    private final String[] requestAttributes;
+
+    PhaseObserverEntry(ObserverMethod<PhaseEvent> observerMethod,
+                       String observerName,
+                       PhaseId phaseId,
+                       boolean beforePhase,
+                       ViewIdFilter viewIdFilter)
+    {
+        this(observerMethod, observerName, phaseId, beforePhase, viewIdFilter, false, null, null);
+    }
+
+    PhaseObserverEntry(ObserverMethod<PhaseEvent> observerMethod,
+                       String observerName,
+                       PhaseId phaseId,
+                       boolean beforePhase,
+                       ViewIdFilter viewIdFilter,
+                       boolean asynchronous,
+                       String[] requestParameters,
+                       String[] requestAttributes)
+    {
+        this.observerMethod = observerMethod;
+        this.observerName = observerName;
+        this.phaseId = phaseId;
+        this.beforePhase = beforePhase;
+        this.viewIdFilter = viewIdFilter;
+        this.asynchronous = asynchronous;
+        this.requestParameters = requestParameters != null ? requestParameters : new String[0];
+        this.requestAttributes = requestAttributes != null ? requestAttributes : new String[0];
+    }
+
+    ObserverMethod<PhaseEvent> getObserverMethod()
+    {
+        return this.observerMethod;
+    }
+
+    //observers of PhaseEventSnapshot are stored with the same type
+    @SuppressWarnings({"unchecked"})
+    ObserverMethod<PhaseEventSnapshot> getAsynchronousObserverMethod()
+    {
+        return (ObserverMethod)this.observerMethod;
+    }
+
+    String getObserverName()
+    {
+        return this.observerName;
+    }
+
+    PhaseId getPhaseId()
+    {
+        return this.phaseId;
+    }
+
+    boolean isBeforePhase()
+    {
+        return this.beforePhase;
+    }
+
+    boolean isAsynchronous()
+    {
+        return this.asynchronous;
+    }
+
+    String[] getRequestParameters()
+    {
+        return this.requestParameters;
+    }
+
+    String[] getRequestAttributes()
+    {
+        return this.requestAttributes;
+    }
+
+    boolean isViewSpecific()
+    {
+        return this.viewIdFilter != null;
+    }
+
+    boolean isBoundToView(String viewId)
+    {
+        return this.viewIdFilter == null || this.viewIdFilter.isBoundToView(viewId);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.RequestLifecycleCompleted;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects the phases of a single request - stored in the request-map.
+ */
+final class RequestLifecycleTracker
+{
+    private final long[] startTimes = new long[PhaseId.values().length];
+
+    //in microseconds
+    private final Map<PhaseId, Long> phaseDurations = new EnumMap<PhaseId, Long>(PhaseId.class);
+
+    private boolean completed;
+
+    void startPhase(PhaseId phaseId)
+    {
+        this.startTimes[phaseId.ordinal()] = System.nanoTime();
+    }
+
+    void stopPhase(PhaseId phaseId)
+    {
+        long startTime = this.startTimes[phaseId.ordinal()];
+
+        if(startTime != 0)
+        {
+            this.phaseDurations.put(phaseId, (System.nanoTime() - startTime) / 1000);
+            this.startTimes[phaseId.ordinal()] = 0;
+        }
+    }
+
+    /**
+     * @return null if the event was created already
+     */
+    RequestLifecycleCompleted complete(String viewId)
+    {
+        if(this.completed)
+        {
+            return null;
+        }
+
+        this.completed = true;
+        return new RequestLifecycleCompleted(viewId, this.phaseDurations);
+    }
+}
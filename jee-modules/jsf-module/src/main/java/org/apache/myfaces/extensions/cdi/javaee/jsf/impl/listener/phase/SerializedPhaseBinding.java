@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Compact form of {@link BeforePhaseBinding} and {@link AfterPhaseBinding} - a single byte which is resolved
+ * to the shared literal.
+ */
+final class SerializedPhaseBinding implements Externalizable
+{
+    private static final long serialVersionUID = -1425906216826471357L;
+
+    private boolean beforePhase;
+
+    private PhaseId phaseId;
+
+    public SerializedPhaseBinding()
+    {
+        //required by the serialization
+    }
+
+    SerializedPhaseBinding(boolean beforePhase, PhaseId phaseId)
+    {
+        this.beforePhase = beforePhase;
+        this.phaseId = phaseId;
+    }
+
+    //ordinal of the phase-id - negative for after-phase bindings
+    public void writeExternal(ObjectOutput objectOutput) throws IOException
+    {
+        int ordinal = this.phaseId.ordinal();
+        objectOutput.writeByte(this.beforePhase ? ordinal : -1 - ordinal);
+    }
+
+    public void readExternal(ObjectInput objectInput) throws IOException
+    {
+        byte phaseCode = objectInput.readByte();
+
+        this.beforePhase = phaseCode >= 0;
+        int ordinal = this.beforePhase ? phaseCode : -1 - phaseCode;
+
+        if(ordinal >= PhaseId.values().length)
+        {
+            throw new InvalidObjectException("unknown phase code: " + phaseCode);
+        }
+        this.phaseId = PhaseId.values()[ordinal];
+    }
+
+    private Object readResolve()
+    {
+        if(this.beforePhase)
+        {
+            return BeforePhaseBinding.of(this.phaseId);
+        }
+        return AfterPhaseBinding.of(this.phaseId);
+    }
+}
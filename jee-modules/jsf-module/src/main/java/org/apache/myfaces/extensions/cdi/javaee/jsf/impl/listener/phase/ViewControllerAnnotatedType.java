@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AnnotatedConstructor;
+import javax.enterprise.inject.spi.AnnotatedField;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.AnnotatedType;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves a {@link View} annotation of the class to the phase-observer methods.
+ * Otherwise the {@link ViewControllerInterceptor} would intercept every method of the bean (e.g. getters used
+ * during the rendering).
+ */
+class ViewControllerAnnotatedType<X> implements AnnotatedType<X>
+{
+    private final AnnotatedType<X> wrapped;
+
+    private final Set<Annotation> annotations;
+
+    private final Set<AnnotatedMethod<? super X>> methods;
+
+    ViewControllerAnnotatedType(AnnotatedType<X> wrapped)
+    {
+        this.wrapped = wrapped;
+
+        View view = wrapped.getAnnotation(View.class);
+
+        Set<Annotation> typeAnnotations = new HashSet<Annotation>(wrapped.getAnnotations());
+        typeAnnotations.remove(view);
+        this.annotations = Collections.unmodifiableSet(typeAnnotations);
+
+        Set<AnnotatedMethod<? super X>> annotatedMethods = new HashSet<AnnotatedMethod<? super X>>();
+
+        for(AnnotatedMethod<? super X> annotatedMethod : wrapped.getMethods())
+        {
+            if(isPhaseObserver(annotatedMethod) && !annotatedMethod.isAnnotationPresent(View.class))
+            {
+                annotatedMethods.add(createViewControllerMethod(annotatedMethod, view));
+            }
+            else
+            {
+                annotatedMethods.add(annotatedMethod);
+            }
+        }
+        this.methods = Collections.unmodifiableSet(annotatedMethods);
+    }
+
+    private static <Y> AnnotatedMethod<Y> createViewControllerMethod(AnnotatedMethod<Y> annotatedMethod, View view)
+    {
+        return new ViewControllerAnnotatedMethod<Y>(annotatedMethod, view);
+    }
+
+    private static boolean isPhaseObserver(AnnotatedMethod<?> annotatedMethod)
+    {
+        for(AnnotatedParameter<?> annotatedParameter : annotatedMethod.getParameters())
+        {
+            if(annotatedParameter.isAnnotationPresent(Observes.class) &&
+                    (annotatedParameter.isAnnotationPresent(BeforePhase.class) ||
+                            annotatedParameter.isAnnotationPresent(AfterPhase.class)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Class<X> getJavaClass()
+    {
+        return this.wrapped.getJavaClass();
+    }
+
+    public Set<AnnotatedConstructor<X>> getConstructors()
+    {
+        return this.wrapped.getConstructors();
+    }
+
+    public Set<AnnotatedMethod<? super X>> getMethods()
+    {
+        return this.methods;
+    }
+
+    public Set<AnnotatedField<? super X>> getFields()
+    {
+        return this.wrapped.getFields();
+    }
+
+    public Type getBaseType()
+    {
+        return this.wrapped.getBaseType();
+    }
+
+    public Set<Type> getTypeClosure()
+    {
+        return this.wrapped.getTypeClosure();
+    }
+
+    public <T extends Annotation> T getAnnotation(Class<T> annotationType)
+    {
+        if(View.class.equals(annotationType))
+        {
+            return null;
+        }
+        return this.wrapped.getAnnotation(annotationType);
+    }
+
+    public Set<Annotation> getAnnotations()
+    {
+        return this.annotations;
+    }
+
+    public boolean isAnnotationPresent(Class<? extends Annotation> annotationType)
+    {
+        return !View.class.equals(annotationType) && this.wrapped.isAnnotationPresent(annotationType);
+    }
+
+    private static class ViewControllerAnnotatedMethod<Y> implements AnnotatedMethod<Y>
+    {
+        private final AnnotatedMethod<Y> wrapped;
+
+        private final View view;
+
+        private final Set<Annotation> annotations;
+
+        private ViewControllerAnnotatedMethod(AnnotatedMethod<Y> wrapped, View view)
+        {
+            this.wrapped = wrapped;
+            this.view = view;
+
+            Set<Annotation> methodAnnotations = new HashSet<Annotation>(wrapped.getAnnotations());
+            methodAnnotations.add(view);
+            this.annotations = Collections.unmodifiableSet(methodAnnotations);
+        }
+
+        public Method getJavaMember()
+        {
+            return this.wrapped.getJavaMember();
+        }
+
+        public List<AnnotatedParameter<Y>> getParameters()
+        {
+            return this.wrapped.getParameters();
+        }
+
+        public boolean isStatic()
+        {
+            return this.wrapped.isStatic();
+        }
+
+        public AnnotatedType<Y> getDeclaringType()
+        {
+            return this.wrapped.getDeclaringType();
+        }
+
+        public Type getBaseType()
+        {
+            return this.wrapped.getBaseType();
+        }
+
+        public Set<Type> getTypeClosure()
+        {
+            return this.wrapped.getTypeClosure();
+        }
+
+        public <T extends Annotation> T getAnnotation(Class<T> annotationType)
+        {
+            if(View.class.equals(annotationType))
+            {
+                return annotationType.cast(this.view);
+            }
+            return this.wrapped.getAnnotation(annotationType);
+        }
+
+        public Set<Annotation> getAnnotations()
+        {
+            return this.annotations;
+        }
+
+        public boolean isAnnotationPresent(Class<? extends Annotation> annotationType)
+        {
+            return View.class.equals(annotationType) || this.wrapped.isAnnotationPresent(annotationType);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Immutable information about a method intercepted by {@link ViewControllerInterceptor}
+ */
+public final class ViewControllerDescriptor
+{
+    private static final ViewControllerDescriptor NO_PHASE_OBSERVER = new ViewControllerDescriptor(false, null);
+
+    private static final ViewControllerDescriptor UNRESTRICTED_PHASE_OBSERVER =
+            new ViewControllerDescriptor(true, null);
+
+    private final boolean phaseObserver;
+
+    //null if the method isn't restricted to specific views
+    private final ViewIdFilter viewIdFilter;
+
+    private ViewControllerDescriptor(boolean phaseObserver, ViewIdFilter viewIdFilter)
+    {
+        this.phaseObserver = phaseObserver;
+        this.viewIdFilter = viewIdFilter;
+    }
+
+    static ViewControllerDescriptor create(Method method)
+    {
+        if(!isPhaseObserver(method))
+        {
+            return NO_PHASE_OBSERVER;
+        }
+
+        View view = method.getAnnotation(View.class);
+
+        if(view == null)
+        {
+            view = method.getDeclaringClass().getAnnotation(View.class);
+        }
+
+        ViewIdFilter viewIdFilter = ViewIdFilter.create(view);
+
+        if(viewIdFilter == null)
+        {
+            return UNRESTRICTED_PHASE_OBSERVER;
+        }
+        return new ViewControllerDescriptor(true, viewIdFilter);
+    }
+
+    private static boolean isPhaseObserver(Method method)
+    {
+        for(Annotation[] annotations : method.getParameterAnnotations())
+        {
+            for(Annotation annotation : annotations)
+            {
+                if(BeforePhase.class.isAssignableFrom(annotation.annotationType()) ||
+                        AfterPhase.class.isAssignableFrom(annotation.annotationType()))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isPhaseObserver()
+    {
+        return this.phaseObserver;
+    }
+
+    public boolean isViewRestricted()
+    {
+        return this.viewIdFilter != null;
+    }
+
+    public boolean isBoundToView(String viewId)
+    {
+        return this.viewIdFilter == null || (viewId != null && this.viewIdFilter.isBoundToView(viewId));
+    }
+}
@@ -19,19 +19,22 @@
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
 
 import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
-import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
-import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseEventSnapshot;
 
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.inject.Inject;
 import javax.interceptor.Interceptor;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.InvocationContext;
-import javax.faces.context.FacesContext;
-import java.lang.annotation.Annotation;
 
 @View
 @Interceptor
 public class ViewControllerInterceptor
 {
+    @Inject
+    private PhaseListenerExtension phaseListenerExtension;
+
     @AroundInvoke
     public Object filterPhaseListenerMethods(InvocationContext invocationContext) throws Exception
     {
@@ -53,67 +56,42 @@ public class ViewControllerInterceptor
 
     private boolean invokeListenerMethod(InvocationContext invocationContext)
     {
-        if(!isObserverMethod(invocationContext) || !isViewAnnotationPresent(invocationContext))
-        {
-            return true;
-        }
-
-        View view = getViewAnnotation(invocationContext);
+        ViewControllerDescriptor viewControllerDescriptor =
+                this.phaseListenerExtension.getViewControllerDescriptor(invocationContext.getMethod());
 
-        if(view.value().length == 1 && "*".equals(view.value()[0]))
+        if(!viewControllerDescriptor.isViewRestricted())
         {
             return true;
         }
 
-        String viewId = FacesContext.getCurrentInstance().getViewRoot().getViewId();
-        return isMethodBoundToView(view.value(), viewId);
+        return viewControllerDescriptor.isBoundToView(getViewId(invocationContext));
     }
 
-    private boolean isObserverMethod(InvocationContext invocationContext)
+    //the observed event provides the view-id -> no lookup of the current faces-context
+    private String getViewId(InvocationContext invocationContext)
     {
-        for(Annotation[] annotations : invocationContext.getMethod().getParameterAnnotations())
+        for(Object parameter : invocationContext.getParameters())
         {
-            for(Annotation annotation : annotations)
+            if(parameter instanceof PhaseEvent)
             {
-                if(BeforePhase.class.isAssignableFrom(annotation.annotationType()) ||
-                        AfterPhase.class.isAssignableFrom(annotation.annotationType()))
-                {
-                    return true;
-                }
+                return getViewId(((PhaseEvent)parameter).getFacesContext());
             }
-        }
-        return false;
-    }
-
-    private boolean isViewAnnotationPresent(InvocationContext invocationContext)
-    {
-        return invocationContext.getMethod().isAnnotationPresent(View.class) ||
-             invocationContext.getMethod().getDeclaringClass().isAnnotationPresent(View.class);
-    }
 
-    private View getViewAnnotation(InvocationContext invocationContext)
-    {
-        View view;
-        if(invocationContext.getMethod().isAnnotationPresent(View.class))
-        {
-            view = invocationContext.getMethod().getAnnotation(View.class);
-        }
-        else
-        {
-            view = invocationContext.getMethod().getDeclaringClass().getAnnotation(View.class);
+            //asynchronous observers
+            if(parameter instanceof PhaseEventSnapshot)
+            {
+                return ((PhaseEventSnapshot)parameter).getViewId();
+            }
         }
-        return view;
+        return getViewId(FacesContext.getCurrentInstance());
     }
 
-    private boolean isMethodBoundToView(String[] viewIds, String viewId)
+    private String getViewId(FacesContext facesContext)
     {
-        for(String current : viewIds)
+        if(facesContext == null || facesContext.getViewRoot() == null)
         {
-            if(current.equals(viewId))
-            {
-                return true;
-            }
+            return null;
         }
-        return false;
+        return facesContext.getViewRoot().getViewId();
     }
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.core.api.listener.phase.annotation.View;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled form of the view-ids of {@link View}.
+ * Supported are exact view-ids (the extension of the page is ignored - e.g. /page.jsp matches /page.xhtml),
+ * prefix patterns (e.g. /admin/*), suffix patterns (e.g. *.xhtml) and patterns with a wildcard in the middle.
+ * A leading /faces/ (prefix servlet-mapping) is removed from all view-ids - therefore /faces/* matches all views.
+ * Patterns with more than one wildcard aren't supported.
+ */
+final class ViewIdFilter
+{
+    private static final String WILDCARD = "*";
+
+    private static final String PREFIX_MAPPING = "/faces/";
+
+    private static final String PREFIX_MAPPING_WILDCARD = PREFIX_MAPPING + WILDCARD;
+
+    private static final String[] VIEW_ID_EXTENSIONS = {".jsp", ".jspx", ".xhtml", ".faces", ".jsf"};
+
+    //compiled filters are immutable - so they can be shared by all usages of equal view-ids
+    private static final ConcurrentMap<List<String>, ViewIdFilter> FILTER_CACHE =
+            new ConcurrentHashMap<List<String>, ViewIdFilter>();
+
+    private final Set<String> exactViewIds = new HashSet<String>();
+
+    private final TrieNode prefixTrie = new TrieNode();
+
+    private final TrieNode suffixTrie = new TrieNode();
+
+    private final List<String[]> infixPatterns = new ArrayList<String[]>();
+
+    private ViewIdFilter(String[] viewIds)
+    {
+        for(String viewId : viewIds)
+        {
+            compile(viewId.trim());
+        }
+    }
+
+    /**
+     * @return null if the given annotation doesn't restrict the views
+     * @throws IllegalArgumentException if a pattern isn't supported
+     */
+    static ViewIdFilter create(View view)
+    {
+        if(view == null)
+        {
+            return null;
+        }
+
+        List<String> key = Arrays.asList(view.value());
+
+        for(String viewId : key)
+        {
+            String trimmedViewId = viewId.trim();
+
+            if(WILDCARD.equals(trimmedViewId) || PREFIX_MAPPING_WILDCARD.equals(trimmedViewId))
+            {
+                return null;
+            }
+        }
+
+        ViewIdFilter result = FILTER_CACHE.get(key);
+
+        if(result == null)
+        {
+            result = new ViewIdFilter(view.value());
+            FILTER_CACHE.putIfAbsent(key, result);
+        }
+        return result;
+    }
+
+    boolean isBoundToView(String viewId)
+    {
+        return this.exactViewIds.contains(viewId) ||
+                this.prefixTrie.matchesPrefixOf(viewId) ||
+                this.suffixTrie.matchesSuffixOf(viewId) ||
+                matchesInfixPattern(viewId);
+    }
+
+    private void compile(String viewId)
+    {
+        int wildcardIndex = viewId.indexOf(WILDCARD);
+
+        if(wildcardIndex < 0)
+        {
+            addExactViewId(normalize(viewId));
+            return;
+        }
+
+        if(viewId.indexOf(WILDCARD, wildcardIndex + 1) >= 0)
+        {
+            throw new IllegalArgumentException("the view-id pattern '" + viewId +
+                    "' contains more than one " + WILDCARD + " - just one wildcard is supported");
+        }
+
+        String prefix = viewId.substring(0, wildcardIndex);
+        String suffix = viewId.substring(wildcardIndex + 1);
+
+        if(prefix.length() > 0)
+        {
+            prefix = normalize(prefix);
+        }
+
+        if(suffix.length() == 0)
+        {
+            this.prefixTrie.add(prefix, false);
+        }
+        else if(prefix.length() == 0)
+        {
+            this.suffixTrie.add(suffix, true);
+        }
+        else
+        {
+            this.infixPatterns.add(new String[] {prefix, suffix});
+        }
+    }
+
+    //all variants are stored to avoid the normalization of the current view-id per lookup
+    private void addExactViewId(String viewId)
+    {
+        this.exactViewIds.add(viewId);
+
+        String viewIdWithoutExtension = removeExtension(viewId);
+        this.exactViewIds.add(viewIdWithoutExtension);
+
+        for(String extension : VIEW_ID_EXTENSIONS)
+        {
+            this.exactViewIds.add(viewIdWithoutExtension + extension);
+        }
+    }
+
+    private boolean matchesInfixPattern(String viewId)
+    {
+        for(String[] pattern : this.infixPatterns)
+        {
+            if(viewId.length() >= pattern[0].length() + pattern[1].length() &&
+                    viewId.startsWith(pattern[0]) && viewId.endsWith(pattern[1]))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String viewId)
+    {
+        if(viewId.startsWith(PREFIX_MAPPING))
+        {
+            viewId = viewId.substring(PREFIX_MAPPING.length() - 1);
+        }
+
+        if(!viewId.startsWith("/"))
+        {
+            viewId = "/" + viewId;
+        }
+        return viewId;
+    }
+
+    private static String removeExtension(String viewId)
+    {
+        for(String extension : VIEW_ID_EXTENSIONS)
+        {
+            if(viewId.endsWith(extension))
+            {
+                return viewId.substring(0, viewId.length() - extension.length());
+            }
+        }
+        return viewId;
+    }
+
+    private static class TrieNode
+    {
+        private final Map<Character, TrieNode> children = new HashMap<Character, TrieNode>();
+
+        //true if a pattern ends at this node
+        private boolean patternEnd;
+
+        private void add(String pattern, boolean reverse)
+        {
+            TrieNode current = this;
+            int length = pattern.length();
+
+            for(int i = 0; i < length; i++)
+            {
+                Character key = pattern.charAt(reverse ? length - 1 - i : i);
+                TrieNode child = current.children.get(key);
+
+                if(child == null)
+                {
+                    child = new TrieNode();
+                    current.children.put(key, child);
+                }
+                current = child;
+            }
+            current.patternEnd = true;
+        }
+
+        private boolean matchesPrefixOf(String viewId)
+        {
+            TrieNode current = this;
+            int length = viewId.length();
+
+            if(current.patternEnd)
+            {
+                return true;
+            }
+
+            for(int i = 0; i < length && !current.children.isEmpty(); i++)
+            {
+                current = current.children.get(viewId.charAt(i));
+
+                if(current == null)
+                {
+                    return false;
+                }
+
+                if(current.patternEnd)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesSuffixOf(String viewId)
+        {
+            TrieNode current = this;
+
+            for(int i = viewId.length() - 1; i >= 0 && !current.children.isEmpty(); i--)
+            {
+                current = current.children.get(viewId.charAt(i));
+
+                if(current == null)
+                {
+                    return false;
+                }
+
+                if(current.patternEnd)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
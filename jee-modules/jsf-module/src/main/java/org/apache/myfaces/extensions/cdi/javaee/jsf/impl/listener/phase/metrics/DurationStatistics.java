@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free count, total and maximum of recorded durations (in microseconds).
+ */
+final class DurationStatistics
+{
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong totalDuration = new AtomicLong();
+
+    private final AtomicLong maxDuration = new AtomicLong();
+
+    //detached copy with stable values (e.g. for sorting)
+    DurationStatistics copy()
+    {
+        DurationStatistics result = new DurationStatistics();
+        result.count.set(this.count.get());
+        result.totalDuration.set(this.totalDuration.get());
+        result.maxDuration.set(this.maxDuration.get());
+        return result;
+    }
+
+    void record(long duration)
+    {
+        this.count.incrementAndGet();
+        this.totalDuration.addAndGet(duration);
+
+        long currentMax = this.maxDuration.get();
+        while(duration > currentMax && !this.maxDuration.compareAndSet(currentMax, duration))
+        {
+            currentMax = this.maxDuration.get();
+        }
+    }
+
+    long getCount()
+    {
+        return this.count.get();
+    }
+
+    long getTotalDuration()
+    {
+        return this.totalDuration.get();
+    }
+
+    long getMaxDuration()
+    {
+        return this.maxDuration.get();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class PhaseDurationHistogram
+{
+    //upper bounds in microseconds
+    static final long[] BUCKET_BOUNDS = {100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000,
+            100000, 250000, 500000, 1000000, 2500000, 5000000, 10000000};
+
+    //the last bucket is unbounded
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+    private final DurationStatistics durationStatistics = new DurationStatistics();
+
+    void record(long duration)
+    {
+        this.buckets.incrementAndGet(getBucketIndex(duration));
+        this.durationStatistics.record(duration);
+    }
+
+    long getCount()
+    {
+        return this.durationStatistics.getCount();
+    }
+
+    long getTotalDuration()
+    {
+        return this.durationStatistics.getTotalDuration();
+    }
+
+    long getMaxDuration()
+    {
+        return this.durationStatistics.getMaxDuration();
+    }
+
+    long[] getBucketCounts()
+    {
+        long[] result = new long[this.buckets.length()];
+
+        for(int i = 0; i < result.length; i++)
+        {
+            result[i] = this.buckets.get(i);
+        }
+        return result;
+    }
+
+    long getPercentile(double percentile)
+    {
+        long[] bucketCounts = getBucketCounts();
+
+        long total = 0;
+        for(long bucketCount : bucketCounts)
+        {
+            total += bucketCount;
+        }
+
+        if(total == 0)
+        {
+            return 0;
+        }
+
+        long threshold = (long)Math.ceil(total * percentile / 100);
+        long current = 0;
+
+        for(int i = 0; i < BUCKET_BOUNDS.length; i++)
+        {
+            current += bucketCounts[i];
+
+            if(current >= threshold)
+            {
+                return BUCKET_BOUNDS[i];
+            }
+        }
+        return getMaxDuration();
+    }
+
+    private static int getBucketIndex(long duration)
+    {
+        int low = 0;
+        int high = BUCKET_BOUNDS.length;
+
+        //first bucket with a bound >= duration
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if(BUCKET_BOUNDS[middle] < duration)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseMetrics;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.PhaseListenerExtension;
+
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+
+public class PhaseMetricsProvider
+{
+    @Inject
+    private PhaseListenerExtension phaseListenerExtension;
+
+    //dependent - the recorder is bound to the lifetime of the extension and doesn't need a proxy
+    @Produces
+    protected PhaseMetrics currentPhaseMetrics()
+    {
+        return this.phaseListenerExtension.getPhaseMetricsRecorder();
+    }
+}
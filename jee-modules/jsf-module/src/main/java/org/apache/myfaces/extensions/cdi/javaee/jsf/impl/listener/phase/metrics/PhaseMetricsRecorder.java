@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseMetrics;
+
+import javax.enterprise.inject.Typed;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the durations of the phases (incl. the phase-observers) for a configurable share of the requests.
+ */
+@Typed()
+public class PhaseMetricsRecorder implements PhaseMetrics, PhaseMetricsRecorderMBean
+{
+    private static final Logger LOGGER = Logger.getLogger(PhaseMetricsRecorder.class.getName());
+
+    private static final String PHASE_START_TIMES_KEY = PhaseMetricsRecorder.class.getName() + ":phaseStartTimes";
+
+    //marker for requests which aren't measured
+    private static final long[] NOT_SAMPLED = new long[0];
+
+    //protects the metrics against an unbounded number of (invalid) view-ids
+    private static final int MAX_VIEW_IDS = 1000;
+
+    private static final String OTHER_VIEW_IDS = "*";
+
+    private static final String UNKNOWN_VIEW_ID = "";
+
+    private final ConcurrentMap<String, PhaseDurationHistogram[]> histograms =
+            new ConcurrentHashMap<String, PhaseDurationHistogram[]>();
+
+    private final AtomicLong requestCounter = new AtomicLong();
+
+    //-1 as long as the configured value wasn't read
+    private volatile int samplingRate = -1;
+
+    private ObjectName objectName;
+
+    public void startPhase(PhaseEvent phaseEvent)
+    {
+        FacesContext facesContext = phaseEvent.getFacesContext();
+        int currentSamplingRate = getSamplingRate(facesContext);
+
+        if(currentSamplingRate <= 0)
+        {
+            return;
+        }
+
+        Map<String, Object> requestMap = facesContext.getExternalContext().getRequestMap();
+        long[] phaseStartTimes = (long[])requestMap.get(PHASE_START_TIMES_KEY);
+
+        if(phaseStartTimes == null)
+        {
+            if(this.requestCounter.getAndIncrement() % currentSamplingRate != 0)
+            {
+                requestMap.put(PHASE_START_TIMES_KEY, NOT_SAMPLED);
+                return;
+            }
+
+            phaseStartTimes = new long[PhaseId.values().length];
+            requestMap.put(PHASE_START_TIMES_KEY, phaseStartTimes);
+        }
+
+        if(phaseStartTimes != NOT_SAMPLED)
+        {
+            phaseStartTimes[PhaseId.convertFromFacesClass(phaseEvent.getPhaseId()).ordinal()] = System.nanoTime();
+        }
+    }
+
+    public void stopPhase(PhaseEvent phaseEvent)
+    {
+        if(this.samplingRate <= 0)
+        {
+            return;
+        }
+
+        FacesContext facesContext = phaseEvent.getFacesContext();
+        long[] phaseStartTimes =
+                (long[])facesContext.getExternalContext().getRequestMap().get(PHASE_START_TIMES_KEY);
+
+        if(phaseStartTimes == null || phaseStartTimes == NOT_SAMPLED)
+        {
+            return;
+        }
+
+        int phaseIndex = PhaseId.convertFromFacesClass(phaseEvent.getPhaseId()).ordinal();
+        long startTime = phaseStartTimes[phaseIndex];
+
+        if(startTime == 0)
+        {
+            return;
+        }
+
+        phaseStartTimes[phaseIndex] = 0;
+        getHistograms(getViewId(facesContext))[phaseIndex].record((System.nanoTime() - startTime) / 1000);
+    }
+
+    public void registerMBean()
+    {
+        try
+        {
+            this.objectName = new ObjectName(
+                    "org.apache.myfaces.extensions.cdi:type=PhaseMetrics,id=" + System.identityHashCode(this));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+        }
+        catch (Exception e)
+        {
+            this.objectName = null;
+            LOGGER.log(Level.WARNING, "registration of the phase-metrics mbean failed", e);
+        }
+    }
+
+    public void unregisterMBean()
+    {
+        if(this.objectName == null)
+        {
+            return;
+        }
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        }
+        catch (Exception e)
+        {
+            LOGGER.log(Level.WARNING, "unregistration of the phase-metrics mbean failed", e);
+        }
+        this.objectName = null;
+    }
+
+    private int getSamplingRate(FacesContext facesContext)
+    {
+        int result = this.samplingRate;
+
+        if(result < 0)
+        {
+            result = parseSamplingRate(facesContext.getExternalContext()
+                    .getInitParameter(WebXmlParameterNames.PHASE_METRICS_SAMPLING_RATE_PARAMETER_NAME));
+            this.samplingRate = result;
+        }
+        return result;
+    }
+
+    private int parseSamplingRate(String value)
+    {
+        if(value == null || "".equals(value.trim()))
+        {
+            return 0;
+        }
+
+        try
+        {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            LOGGER.warning("invalid value for " + WebXmlParameterNames.PHASE_METRICS_SAMPLING_RATE_PARAMETER_NAME +
+                    ": " + value + " - phase metrics are deactivated");
+            return 0;
+        }
+    }
+
+    private PhaseDurationHistogram[] getHistograms(String viewId)
+    {
+        PhaseDurationHistogram[] result = this.histograms.get(viewId);
+
+        if(result != null)
+        {
+            return result;
+        }
+
+        if(this.histograms.size() >= MAX_VIEW_IDS)
+        {
+            viewId = OTHER_VIEW_IDS;
+        }
+
+        result = new PhaseDurationHistogram[PhaseId.values().length];
+        for(int i = 0; i < result.length; i++)
+        {
+            result[i] = new PhaseDurationHistogram();
+        }
+
+        PhaseDurationHistogram[] existingHistograms = this.histograms.putIfAbsent(viewId, result);
+
+        if(existingHistograms != null)
+        {
+            return existingHistograms;
+        }
+        return result;
+    }
+
+    private PhaseDurationHistogram findHistogram(PhaseId phaseId, String viewId)
+    {
+        PhaseDurationHistogram[] result = this.histograms.get(viewId);
+
+        if(result == null)
+        {
+            return null;
+        }
+        return result[phaseId.ordinal()];
+    }
+
+    private static String getViewId(FacesContext facesContext)
+    {
+        UIViewRoot viewRoot = facesContext.getViewRoot();
+
+        if(viewRoot == null || viewRoot.getViewId() == null)
+        {
+            return UNKNOWN_VIEW_ID;
+        }
+        return viewRoot.getViewId();
+    }
+
+    /*
+     * implementation of PhaseMetrics methods
+     */
+    public boolean isEnabled()
+    {
+        return this.samplingRate > 0;
+    }
+
+    public int getSamplingRate()
+    {
+        return Math.max(0, this.samplingRate);
+    }
+
+    public Set<String> getViewIds()
+    {
+        return Collections.unmodifiableSet(new TreeSet<String>(this.histograms.keySet()));
+    }
+
+    public long getCount(PhaseId phaseId, String viewId)
+    {
+        PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+        return histogram != null ? histogram.getCount() : 0;
+    }
+
+    public long getTotalDuration(PhaseId phaseId, String viewId)
+    {
+        PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+        return histogram != null ? histogram.getTotalDuration() : 0;
+    }
+
+    public long getMaxDuration(PhaseId phaseId, String viewId)
+    {
+        PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+        return histogram != null ? histogram.getMaxDuration() : 0;
+    }
+
+    public long getDurationPercentile(PhaseId phaseId, String viewId, double percentile)
+    {
+        PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+        return histogram != null ? histogram.getPercentile(percentile) : 0;
+    }
+
+    public long[] getHistogramBounds()
+    {
+        return PhaseDurationHistogram.BUCKET_BOUNDS.clone();
+    }
+
+    public long[] getHistogram(PhaseId phaseId, String viewId)
+    {
+        PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+
+        if(histogram == null)
+        {
+            return new long[PhaseDurationHistogram.BUCKET_BOUNDS.length + 1];
+        }
+        return histogram.getBucketCounts();
+    }
+
+    public void reset()
+    {
+        this.histograms.clear();
+    }
+
+    /*
+     * implementation of PhaseMetricsRecorderMBean methods
+     */
+    public void setSamplingRate(int samplingRate)
+    {
+        this.samplingRate = Math.max(0, samplingRate);
+    }
+
+    public String[] getMonitoredViewIds()
+    {
+        Set<String> viewIds = getViewIds();
+        return viewIds.toArray(new String[viewIds.size()]);
+    }
+
+    public String[] getReport()
+    {
+        List<String> result = new ArrayList<String>();
+
+        for(String viewId : getViewIds())
+        {
+            for(PhaseId phaseId : PhaseId.values())
+            {
+                PhaseDurationHistogram histogram = findHistogram(phaseId, viewId);
+
+                if(histogram == null || histogram.getCount() == 0)
+                {
+                    continue;
+                }
+
+                result.add(viewId + " " + phaseId +
+                        " count=" + histogram.getCount() +
+                        " avg=" + (histogram.getTotalDuration() / histogram.getCount()) +
+                        " max=" + histogram.getMaxDuration() +
+                        " p95=" + histogram.getPercentile(95));
+            }
+        }
+        return result.toArray(new String[result.size()]);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseMetrics;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.BeanManagerProvider;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Optional servlet which exports the phase metrics in the text format of Prometheus.
+ * It has to be mapped in the web.xml of the application.
+ */
+public class PhaseMetricsServlet extends HttpServlet
+{
+    private static final long serialVersionUID = -2407931842286418503L;
+
+    private static final String METRIC_NAME = "codi_jsf_phase_duration_seconds";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws ServletException, IOException
+    {
+        PhaseMetrics phaseMetrics = BeanManagerProvider.getContextualReference(PhaseMetrics.class);
+
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+
+        PrintWriter writer = response.getWriter();
+        writer.println("# HELP " + METRIC_NAME + " Duration of the JSF request lifecycle phases per view.");
+        writer.println("# TYPE " + METRIC_NAME + " histogram");
+
+        long[] bounds = phaseMetrics.getHistogramBounds();
+
+        for(String viewId : phaseMetrics.getViewIds())
+        {
+            for(PhaseId phaseId : PhaseId.values())
+            {
+                long count = phaseMetrics.getCount(phaseId, viewId);
+
+                if(count == 0)
+                {
+                    continue;
+                }
+
+                String labels = "phase=\"" + phaseId + "\",view=\"" + escapeLabelValue(viewId) + "\"";
+                long[] histogram = phaseMetrics.getHistogram(phaseId, viewId);
+                long cumulativeCount = 0;
+
+                for(int i = 0; i < bounds.length; i++)
+                {
+                    cumulativeCount += histogram[i];
+                    writer.println(METRIC_NAME + "_bucket{" + labels + ",le=\"" + toSeconds(bounds[i]) + "\"} " +
+                            cumulativeCount);
+                }
+
+                writer.println(METRIC_NAME + "_bucket{" + labels + ",le=\"+Inf\"} " + count);
+                writer.println(METRIC_NAME + "_sum{" + labels + "} " +
+                        toSeconds(phaseMetrics.getTotalDuration(phaseId, viewId)));
+                writer.println(METRIC_NAME + "_count{" + labels + "} " + count);
+            }
+        }
+        writer.flush();
+    }
+
+    private String toSeconds(long microseconds)
+    {
+        return String.valueOf(microseconds / 1000000d);
+    }
+
+    private String escapeLabelValue(String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase.metrics;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames;
+
+import javax.enterprise.inject.Typed;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Aggregates the execution time of the phase-observers per bean class and method.
+ */
+@Typed()
+public class PhaseObserverProfiler implements PhaseObserverProfilerMBean
+{
+    private static final Logger LOGGER = Logger.getLogger(PhaseObserverProfiler.class.getName());
+
+    private static final long DEFAULT_THRESHOLD = 100;
+
+    private static final Comparator<ObserverStatistics> TOTAL_DURATION_COMPARATOR =
+            new Comparator<ObserverStatistics>()
+            {
+                public int compare(ObserverStatistics statistics1, ObserverStatistics statistics2)
+                {
+                    long duration1 = statistics1.getTotalDuration();
+                    long duration2 = statistics2.getTotalDuration();
+                    return duration1 < duration2 ? 1 : (duration1 == duration2 ? 0 : -1);
+                }
+            };
+
+    private final ConcurrentMap<String, ObserverStatistics> observerStatistics =
+            new ConcurrentHashMap<String, ObserverStatistics>();
+
+    private volatile boolean configured;
+
+    private volatile boolean enabled;
+
+    //in milliseconds
+    private volatile long threshold = DEFAULT_THRESHOLD;
+
+    private ObjectName objectName;
+
+    public boolean isEnabled(FacesContext facesContext)
+    {
+        if(!this.configured)
+        {
+            configure(facesContext.getExternalContext());
+        }
+        return this.enabled;
+    }
+
+    public void record(String observerName, PhaseEvent phaseEvent, long durationInNanoseconds)
+    {
+        long duration = durationInNanoseconds / 1000;
+
+        ObserverStatistics statistics = this.observerStatistics.get(observerName);
+
+        if(statistics == null)
+        {
+            statistics = new ObserverStatistics(observerName);
+            ObserverStatistics existingStatistics = this.observerStatistics.putIfAbsent(observerName, statistics);
+
+            if(existingStatistics != null)
+            {
+                statistics = existingStatistics;
+            }
+        }
+
+        statistics.record(duration);
+
+        if(duration / 1000 >= this.threshold && LOGGER.isLoggable(Level.WARNING))
+        {
+            LOGGER.warning("phase-observer " + observerName + " took " + (duration / 1000) + " ms (" +
+                    phaseEvent.getPhaseId() + ", view: " + getViewId(phaseEvent) + ")");
+        }
+    }
+
+    public void registerMBean()
+    {
+        try
+        {
+            this.objectName = new ObjectName(
+                    "org.apache.myfaces.extensions.cdi:type=PhaseObserverProfiler,id=" +
+                            System.identityHashCode(this));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+        }
+        catch (Exception e)
+        {
+            this.objectName = null;
+            LOGGER.log(Level.WARNING, "registration of the phase-observer profiler mbean failed", e);
+        }
+    }
+
+    public void unregisterMBean()
+    {
+        if(this.objectName == null)
+        {
+            return;
+        }
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        }
+        catch (Exception e)
+        {
+            LOGGER.log(Level.WARNING, "unregistration of the phase-observer profiler mbean failed", e);
+        }
+        this.objectName = null;
+    }
+
+    private synchronized void configure(ExternalContext externalContext)
+    {
+        if(this.configured)
+        {
+            return;
+        }
+
+        this.enabled = Boolean.parseBoolean(externalContext
+                .getInitParameter(WebXmlParameterNames.PHASE_OBSERVER_PROFILING_PARAMETER_NAME));
+
+        String thresholdValue = externalContext
+                .getInitParameter(WebXmlParameterNames.PHASE_OBSERVER_PROFILING_THRESHOLD_PARAMETER_NAME);
+
+        if(thresholdValue != null && !"".equals(thresholdValue.trim()))
+        {
+            try
+            {
+                this.threshold = Long.parseLong(thresholdValue.trim());
+            }
+            catch (NumberFormatException e)
+            {
+                LOGGER.warning("invalid value for " +
+                        WebXmlParameterNames.PHASE_OBSERVER_PROFILING_THRESHOLD_PARAMETER_NAME + ": " +
+                        thresholdValue + " - the default value (" + DEFAULT_THRESHOLD + " ms) is used");
+            }
+        }
+        this.configured = true;
+    }
+
+    private static String getViewId(PhaseEvent phaseEvent)
+    {
+        UIViewRoot viewRoot = phaseEvent.getFacesContext().getViewRoot();
+
+        if(viewRoot == null)
+        {
+            return null;
+        }
+        return viewRoot.getViewId();
+    }
+
+    /*
+     * implementation of PhaseObserverProfilerMBean methods
+     */
+    public boolean isEnabled()
+    {
+        return this.enabled;
+    }
+
+    //changes via jmx override the configuration of the web.xml
+    public synchronized void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        this.configured = true;
+    }
+
+    public long getThreshold()
+    {
+        return this.threshold;
+    }
+
+    public void setThreshold(long thresholdInMilliseconds)
+    {
+        this.threshold = thresholdInMilliseconds;
+    }
+
+    public String[] getTopObservers(int count)
+    {
+        List<ObserverStatistics> statistics = new ArrayList<ObserverStatistics>();
+        for(ObserverStatistics entry : this.observerStatistics.values())
+        {
+            statistics.add(entry.copy());
+        }
+        Collections.sort(statistics, TOTAL_DURATION_COMPARATOR);
+
+        List<String> result = new ArrayList<String>();
+
+        for(ObserverStatistics entry : statistics)
+        {
+            if(result.size() >= count)
+            {
+                break;
+            }
+
+            if(entry.getCount() == 0)
+            {
+                continue;
+            }
+
+            result.add(entry.getObserverName() +
+                    " count=" + entry.getCount() +
+                    " total=" + entry.getTotalDuration() +
+                    " avg=" + (entry.getTotalDuration() / entry.getCount()) +
+                    " max=" + entry.getMaxDuration());
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    public void reset()
+    {
+        this.observerStatistics.clear();
+    }
+}
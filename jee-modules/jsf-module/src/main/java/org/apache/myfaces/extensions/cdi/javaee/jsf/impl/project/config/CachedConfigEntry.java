@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigEntryStatistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class CachedConfigEntry implements ConfigEntryStatistics
+{
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    //null if the entry isn't resolved
+    private volatile ResolvedValue resolvedValue;
+
+    //incremented by every invalidation - written while holding the lock of the entry
+    private volatile long generation;
+
+    /**
+     * @return the resolved value (might be a resolved null value) or null if the entry has to be resolved
+     */
+    ResolvedValue getResolvedValue()
+    {
+        return this.resolvedValue;
+    }
+
+    long getGeneration()
+    {
+        return this.generation;
+    }
+
+    /**
+     * Caches the value unless the entry was invalidated since the given generation was read -
+     * a value resolved before a change mustn't outlive the invalidation.
+     */
+    synchronized void resolved(String value, String source, long expectedGeneration)
+    {
+        if(this.generation == expectedGeneration)
+        {
+            this.resolvedValue = new ResolvedValue(value, source);
+        }
+    }
+
+    synchronized void invalidate()
+    {
+        this.generation++;
+        this.resolvedValue = null;
+    }
+
+    void recordHit()
+    {
+        this.hitCount.incrementAndGet();
+    }
+
+    void recordMiss()
+    {
+        this.missCount.incrementAndGet();
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.get();
+    }
+
+    public String getSource()
+    {
+        ResolvedValue currentValue = this.resolvedValue;
+        return currentValue != null ? currentValue.getSource() : null;
+    }
+
+    static class ResolvedValue
+    {
+        private final String value;
+
+        private final String source;
+
+        private ResolvedValue(String value, String source)
+        {
+            this.value = value;
+            this.source = source;
+        }
+
+        String getValue()
+        {
+            return this.value;
+        }
+
+        String getSource()
+        {
+            return this.source;
+        }
+    }
+}
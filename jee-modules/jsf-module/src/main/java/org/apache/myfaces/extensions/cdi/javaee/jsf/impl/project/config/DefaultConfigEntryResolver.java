@@ -19,51 +19,118 @@
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
 
 import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigEntryResolver;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.KeyAwareConfigEntryResolver;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.qualifier.Jsf;
 
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.Produces;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
 
+/**
+ * Chain of all {@link KeyAwareConfigEntryResolver}s - compiled once to a key based lookup.
+ */
 @Typed()
 public class DefaultConfigEntryResolver implements ConfigEntryResolver<String, String>
 {
-    private List<InternalKeyAwareConfigEntryResolver<String, String>> configEntryResolvers;
+    private static final Logger LOGGER = Logger.getLogger(DefaultConfigEntryResolver.class.getName());
+
+    private Map<String, KeyAwareConfigEntryResolver<String, String>> keyAwareConfigEntryResolvers;
+
+    //resolvers which are responsible for all keys
+    private List<KeyAwareConfigEntryResolver<String, String>> wildcardConfigEntryResolvers;
 
     protected DefaultConfigEntryResolver()
     {
         //required for proxy libs
     }
 
-    private ConfigEntryResolver<String, String> init()
+    private ConfigEntryResolver<String, String> init(
+            Iterable<KeyAwareConfigEntryResolver<String, String>> configEntryResolvers)
     {
-        if(this.configEntryResolvers == null)
+        Map<String, KeyAwareConfigEntryResolver<String, String>> resolversByKey =
+                new HashMap<String, KeyAwareConfigEntryResolver<String, String>>();
+        List<KeyAwareConfigEntryResolver<String, String>> wildcardResolvers =
+                new ArrayList<KeyAwareConfigEntryResolver<String, String>>();
+
+        for(KeyAwareConfigEntryResolver<String, String> configEntryResolver : configEntryResolvers)
         {
-            this.configEntryResolvers = new ArrayList<InternalKeyAwareConfigEntryResolver<String, String>>();
+            Set<String> responsibleKeys = configEntryResolver.getResponsibleKeys();
 
-            this.configEntryResolvers.add(new JsfProjectStageConfigEntryResolver());
+            if(responsibleKeys == null || responsibleKeys.isEmpty())
+            {
+                wildcardResolvers.add(configEntryResolver);
+                continue;
+            }
+
+            for(String key : responsibleKeys)
+            {
+                KeyAwareConfigEntryResolver<String, String> existingResolver = resolversByKey.get(key);
+
+                if(existingResolver != null)
+                {
+                    LOGGER.warning("the config entry " + key + " is resolved by " +
+                            existingResolver.getClass().getName() + " - " +
+                            configEntryResolver.getClass().getName() + " gets ignored for this entry");
+                    continue;
+                }
+                resolversByKey.put(key, configEntryResolver);
+            }
         }
+
+        this.keyAwareConfigEntryResolvers = Collections.unmodifiableMap(resolversByKey);
+        this.wildcardConfigEntryResolvers = Collections.unmodifiableList(wildcardResolvers);
         return this;
     }
 
     @Produces
     @Jsf
-    public ConfigEntryResolver<String, String> createDefaultConfigResolverManager()
+    @ApplicationScoped
+    public ConfigEntryResolver<String, String> createDefaultConfigResolverManager(
+            @Any Instance<KeyAwareConfigEntryResolver<String, String>> configEntryResolvers)
+    {
+        return createConfigEntryResolver(configEntryResolvers);
+    }
+
+    static ConfigEntryResolver<String, String> createConfigEntryResolver(
+            Iterable<KeyAwareConfigEntryResolver<String, String>> configEntryResolvers)
     {
-        return new DefaultConfigEntryResolver().init();
+        return new DefaultConfigEntryResolver().init(configEntryResolvers);
     }
 
     public String resolveEntry(String key)
     {
-        for(InternalKeyAwareConfigEntryResolver<String, String> keyAwareConfigEntryResolver : this.configEntryResolvers)
+        KeyAwareConfigEntryResolver<String, String> keyAwareConfigEntryResolver =
+                this.keyAwareConfigEntryResolvers.get(key);
+
+        if(keyAwareConfigEntryResolver != null)
         {
-            if(keyAwareConfigEntryResolver.isResponsibleFor(key))
+            String result = keyAwareConfigEntryResolver.resolveValue(key);
+
+            if(result != null)
             {
-                return keyAwareConfigEntryResolver.resolveValue();
+                return result;
             }
         }
 
+        for(KeyAwareConfigEntryResolver<String, String> wildcardConfigEntryResolver :
+                this.wildcardConfigEntryResolvers)
+        {
+            String result = wildcardConfigEntryResolver.resolveValue(key);
+
+            if(result != null)
+            {
+                return result;
+            }
+        }
         return null;
     }
 }
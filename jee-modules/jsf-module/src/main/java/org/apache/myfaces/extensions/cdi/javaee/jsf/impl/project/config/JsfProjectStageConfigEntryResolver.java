@@ -19,16 +19,20 @@
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
 
 import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameterNames;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.KeyAwareConfigEntryResolver;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.JsfUtils;
 
-class JsfProjectStageConfigEntryResolver implements InternalKeyAwareConfigEntryResolver<String, String>
+import java.util.Collections;
+import java.util.Set;
+
+class JsfProjectStageConfigEntryResolver implements KeyAwareConfigEntryResolver<String, String>
 {
-    public boolean isResponsibleFor(String key)
+    public Set<String> getResponsibleKeys()
     {
-        return InitParameterNames.APPLICATION_PROJECT_STAGE.equals(key);
+        return Collections.singleton(InitParameterNames.APPLICATION_PROJECT_STAGE);
     }
 
-    public String resolveValue()
+    public String resolveValue(String key)
     {
         return JsfUtils.getProjectStageName();
     }
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.config.DeferredConfigSource;
+
+import javax.faces.context.FacesContext;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Context-params of the web.xml - they are only available during a request.
+ * If the sources get merged before (e.g. during the deployment), the context-params get merged on the first request.
+ */
+public class WebXmlConfigSource implements DeferredConfigSource
+{
+    static final int ORDINAL = 200;
+
+    public int getOrdinal()
+    {
+        return ORDINAL;
+    }
+
+    public boolean isAvailable()
+    {
+        return FacesContext.getCurrentInstance() != null;
+    }
+
+    public Map<String, String> getProperties()
+    {
+        Map<String, String> result = new HashMap<String, String>();
+        FacesContext facesContext = FacesContext.getCurrentInstance();
+
+        if(facesContext == null)
+        {
+            return result;
+        }
+
+        for(Object entry : facesContext.getExternalContext().getInitParameterMap().entrySet())
+        {
+            Map.Entry initParameter = (Map.Entry)entry;
+
+            if(initParameter.getKey() instanceof String && initParameter.getValue() instanceof String)
+            {
+                result.put((String)initParameter.getKey(), (String)initParameter.getValue());
+            }
+        }
+        return result;
+    }
+
+    public String getConfigName()
+    {
+        return "web.xml";
+    }
+}
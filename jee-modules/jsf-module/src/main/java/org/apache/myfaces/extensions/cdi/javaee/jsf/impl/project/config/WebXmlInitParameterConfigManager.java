@@ -18,19 +18,34 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
 
+import org.apache.myfaces.extensions.cdi.core.api.project.config.CachingConfigManager;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigChangedEvent;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigEntryResolver;
+import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigEntryStatistics;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.ConfigManager;
 import org.apache.myfaces.extensions.cdi.core.api.project.config.InitParameter;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.qualifier.Jsf;
 
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.faces.context.FacesContext;
 import javax.inject.Inject;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-//TODO instead of if statements: inject 1-n lookup strategies - ~every strategy is responsible for a different key
 //TODO @Jsf @InitParameter doesn't work
 
+@ApplicationScoped
 @InitParameter(Jsf.class)
-public class WebXmlInitParameterConfigManager implements ConfigManager<String, String>
+public class WebXmlInitParameterConfigManager implements CachingConfigManager<String, String>
 {
+    static final String INIT_PARAMETER_SOURCE = "init-parameter";
+
+    static final String CONFIG_ENTRY_RESOLVER_SOURCE = "config-entry-resolver";
+
     @Inject
     @InitParameter
     private ConfigManager<String, String> wrapped;
@@ -39,15 +54,93 @@ public class WebXmlInitParameterConfigManager implements ConfigManager<String, S
     @Jsf
     private ConfigEntryResolver<String, String> configEntryResolver;
 
+    private final ConcurrentMap<String, CachedConfigEntry> cachedEntries =
+            new ConcurrentHashMap<String, CachedConfigEntry>();
+
     public String getValue(String key)
     {
+        CachedConfigEntry cachedEntry = getCachedEntry(key);
+
+        //read before resolving -> an invalidation in the meantime discards the (outdated) result
+        long generation = cachedEntry.getGeneration();
+        CachedConfigEntry.ResolvedValue resolvedValue = cachedEntry.getResolvedValue();
+
+        if(resolvedValue != null)
+        {
+            cachedEntry.recordHit();
+            return resolvedValue.getValue();
+        }
+
+        cachedEntry.recordMiss();
+
         String result = this.wrapped.getValue(key);
 
         if (result != null)
         {
+            cachedEntry.resolved(result, INIT_PARAMETER_SOURCE, generation);
             return result;
         }
 
-        return configEntryResolver.resolveEntry(key);
+        result = this.configEntryResolver.resolveEntry(key);
+
+        if(result != null)
+        {
+            cachedEntry.resolved(result, CONFIG_ENTRY_RESOLVER_SOURCE, generation);
+        }
+        //the resolvers need the FacesContext -> without it a missing value isn't final
+        else if(FacesContext.getCurrentInstance() != null)
+        {
+            cachedEntry.resolved(null, null, generation);
+        }
+        return result;
+    }
+
+    public void invalidate(String key)
+    {
+        CachedConfigEntry cachedEntry = this.cachedEntries.get(key);
+
+        if(cachedEntry != null)
+        {
+            cachedEntry.invalidate();
+        }
+    }
+
+    public void invalidateAll()
+    {
+        for(CachedConfigEntry cachedEntry : this.cachedEntries.values())
+        {
+            cachedEntry.invalidate();
+        }
+    }
+
+    public void onConfigChanged(@Observes ConfigChangedEvent configChangedEvent)
+    {
+        for(String changedKey : configChangedEvent.getChangedKeys())
+        {
+            invalidate(changedKey);
+        }
+    }
+
+    public Map<String, ConfigEntryStatistics> getStatistics()
+    {
+        return Collections.unmodifiableMap(new HashMap<String, ConfigEntryStatistics>(this.cachedEntries));
+    }
+
+    private CachedConfigEntry getCachedEntry(String key)
+    {
+        CachedConfigEntry cachedEntry = this.cachedEntries.get(key);
+
+        if(cachedEntry == null)
+        {
+            cachedEntry = new CachedConfigEntry();
+
+            CachedConfigEntry existingEntry = this.cachedEntries.putIfAbsent(key, cachedEntry);
+
+            if(existingEntry != null)
+            {
+                cachedEntry = existingEntry;
+            }
+        }
+        return cachedEntry;
     }
-}
\ No newline at end of file
+}
@@ -25,15 +25,21 @@ import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
 import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStageResolver;
 import org.apache.myfaces.extensions.cdi.javaee.jsf.api.qualifier.Jsf;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Alternative;
+import javax.faces.context.FacesContext;
 import javax.inject.Inject;
 
+//the project-stage is resolved once - as soon as the config of the web.xml is available
 @Alternative
+@ApplicationScoped
 public class JsfAwareProjectStageResolver implements ProjectStageResolver
 {
     //TODO @Inject @Jsf @InitParameter doesn't work!?
     private ConfigManager<String, String> configManager;
 
+    private volatile String projectStageName;
+
     protected JsfAwareProjectStageResolver()
     {
         //required for proxy libs
@@ -48,13 +54,24 @@ public class JsfAwareProjectStageResolver implements ProjectStageResolver
 
     public String getCurrentProjectStageName()
     {
+        if(this.projectStageName != null)
+        {
+            return this.projectStageName;
+        }
+
         String projectStageName = this.configManager.getValue(InitParameterNames.APPLICATION_PROJECT_STAGE);
 
         if (isProjectStageAvailable(projectStageName))
         {
+            this.projectStageName = projectStageName;
             return projectStageName;
         }
 
+        //without FacesContext the web.xml isn't available -> the default isn't final
+        if(FacesContext.getCurrentInstance() != null)
+        {
+            this.projectStageName = ProjectStage.DEFAULT_STAGE;
+        }
         return ProjectStage.DEFAULT_STAGE;
     }
 
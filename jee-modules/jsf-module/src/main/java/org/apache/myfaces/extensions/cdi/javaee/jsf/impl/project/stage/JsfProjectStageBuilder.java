@@ -23,14 +23,28 @@ import org.apache.myfaces.extensions.cdi.javaee.jsf.api.project.stage.JsfProject
 
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Typed;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Typed() // required workaround
 public class JsfProjectStageBuilder implements JsfProjectStage
 {
     private static final long serialVersionUID = 2561553908344678363L;
 
+    //one (immutable) instance per project-stage
+    private static final ConcurrentMap<ProjectStage, JsfProjectStage> JSF_PROJECT_STAGES =
+            new ConcurrentHashMap<ProjectStage, JsfProjectStage>();
+
     private ProjectStage projectStage;
 
+    //null for project-stages which aren't supported by jsf
+    private JsfProjectStageEnum jsfProjectStage;
+
     protected JsfProjectStageBuilder()
     {
         //required for proxy libs
@@ -39,32 +53,63 @@ public class JsfProjectStageBuilder implements JsfProjectStage
     private JsfProjectStageBuilder(ProjectStage projectStage)
     {
         this.projectStage = projectStage;
+        this.jsfProjectStage = JsfProjectStageEnum.fromProjectStage(projectStage);
     }
 
     @Produces
     public JsfProjectStage createJsfProjectStage(ProjectStage projectStage)
     {
-        return new JsfProjectStageBuilder(projectStage);
+        return getJsfProjectStage(projectStage);
+    }
+
+    private static JsfProjectStage getJsfProjectStage(ProjectStage projectStage)
+    {
+        JsfProjectStage result = JSF_PROJECT_STAGES.get(projectStage);
+
+        if(result == null)
+        {
+            result = new JsfProjectStageBuilder(projectStage);
+
+            JsfProjectStage existingJsfProjectStage = JSF_PROJECT_STAGES.putIfAbsent(projectStage, result);
+
+            if(existingJsfProjectStage != null)
+            {
+                result = existingJsfProjectStage;
+            }
+        }
+        return result;
     }
 
     public boolean isDevelopment()
     {
-        return this.projectStage.is(JsfProjectStageEnum.Development.getProjectStageName());
+        return this.jsfProjectStage == JsfProjectStageEnum.Development;
     }
 
     public boolean isUnitTest()
     {
-        return this.projectStage.is(JsfProjectStageEnum.UnitTest.getProjectStageName());
+        return this.jsfProjectStage == JsfProjectStageEnum.UnitTest;
     }
 
     public boolean isSystemTest()
     {
-        return this.projectStage.is(JsfProjectStageEnum.SystemTest.getProjectStageName());
+        return this.jsfProjectStage == JsfProjectStageEnum.SystemTest;
     }
 
     public boolean isProduction()
     {
-        return this.projectStage.is(JsfProjectStageEnum.Production.getProjectStageName());
+        return this.jsfProjectStage == JsfProjectStageEnum.Production;
+    }
+
+    //keeps the instances unique
+    protected Object readResolve()
+    {
+        return getJsfProjectStage(ProjectStage.valueOf(this.projectStage.toString()));
+    }
+
+    //compact form e.g. for replicated sessions
+    protected Object writeReplace()
+    {
+        return new SerializedJsfProjectStage(this.projectStage.toString());
     }
 
     @Override
@@ -72,4 +117,63 @@ public class JsfProjectStageBuilder implements JsfProjectStage
     {
         return this.projectStage.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Project-stages of jsf are written as a single byte - others as byte and name.
+     */
+    private static final class SerializedJsfProjectStage implements Externalizable
+    {
+        private static final long serialVersionUID = 7920435874217709148L;
+
+        private static final byte CUSTOM_PROJECT_STAGE = -1;
+
+        private String projectStageName;
+
+        public SerializedJsfProjectStage()
+        {
+            //required by the serialization
+        }
+
+        private SerializedJsfProjectStage(String projectStageName)
+        {
+            this.projectStageName = projectStageName;
+        }
+
+        public void writeExternal(ObjectOutput objectOutput) throws IOException
+        {
+            JsfProjectStageEnum jsfProjectStage =
+                    JsfProjectStageEnum.fromProjectStage(ProjectStage.valueOf(this.projectStageName));
+
+            if(jsfProjectStage != null)
+            {
+                objectOutput.writeByte(jsfProjectStage.ordinal());
+                return;
+            }
+            objectOutput.writeByte(CUSTOM_PROJECT_STAGE);
+            objectOutput.writeUTF(this.projectStageName);
+        }
+
+        public void readExternal(ObjectInput objectInput) throws IOException
+        {
+            byte projectStageCode = objectInput.readByte();
+
+            if(projectStageCode == CUSTOM_PROJECT_STAGE)
+            {
+                this.projectStageName = objectInput.readUTF();
+            }
+            else if(projectStageCode >= 0 && projectStageCode < JsfProjectStageEnum.values().length)
+            {
+                this.projectStageName = JsfProjectStageEnum.values()[projectStageCode].getProjectStageName();
+            }
+            else
+            {
+                throw new InvalidObjectException("unknown jsf project-stage code: " + projectStageCode);
+            }
+        }
+
+        private Object readResolve()
+        {
+            return getJsfProjectStage(ProjectStage.valueOf(this.projectStageName));
+        }
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.stage;
 
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
+
+//the ordinal is used for the serialized form of JsfProjectStageBuilder - don't reorder, just append
 public enum JsfProjectStageEnum
 {
     Development("Development"),
@@ -36,4 +39,16 @@ public enum JsfProjectStageEnum
     {
         return this.value;
     }
+
+    static JsfProjectStageEnum fromProjectStage(ProjectStage projectStage)
+    {
+        for(JsfProjectStageEnum jsfProjectStage : values())
+        {
+            if(projectStage.is(jsfProjectStage.value))
+            {
+                return jsfProjectStage;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.request;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.request.JsfRequestSnapshot;
+
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.render.RenderKit;
+import java.util.Map;
+
+/**
+ * Stored in the request-map - the view-id and the phase get updated by the lifecycle broadcaster.
+ */
+public final class DefaultJsfRequestSnapshot implements JsfRequestSnapshot
+{
+    private static final String SNAPSHOT_KEY = DefaultJsfRequestSnapshot.class.getName();
+
+    //jsf 2 ajax requests and (jsf 1.2) a4j requests
+    private static final String FACES_REQUEST_HEADER = "Faces-Request";
+
+    private static final String PARTIAL_AJAX_REQUEST = "partial/ajax";
+
+    private static final String A4J_REQUEST_PARAMETER = "AJAXREQUEST";
+
+    private final FacesContext facesContext;
+
+    private String viewId;
+
+    private PhaseId currentPhaseId;
+
+    //lazily resolved - null as long as it wasn't resolved
+    private Boolean postback;
+
+    private Boolean partialRequest;
+
+    private DefaultJsfRequestSnapshot(FacesContext facesContext)
+    {
+        this.facesContext = facesContext;
+        updateViewId();
+    }
+
+    /**
+     * @return the snapshot of the current request or null if there is no active faces-context
+     */
+    public static DefaultJsfRequestSnapshot getCurrentInstance()
+    {
+        FacesContext facesContext = FacesContext.getCurrentInstance();
+
+        if(facesContext == null)
+        {
+            return null;
+        }
+        return getOrCreate(facesContext);
+    }
+
+    public static DefaultJsfRequestSnapshot getOrCreate(FacesContext facesContext)
+    {
+        Map<String, Object> requestMap = facesContext.getExternalContext().getRequestMap();
+        DefaultJsfRequestSnapshot result = (DefaultJsfRequestSnapshot)requestMap.get(SNAPSHOT_KEY);
+
+        if(result == null || result.facesContext != facesContext)
+        {
+            result = new DefaultJsfRequestSnapshot(facesContext);
+            requestMap.put(SNAPSHOT_KEY, result);
+        }
+        return result;
+    }
+
+    public void startPhase(PhaseId phaseId)
+    {
+        this.currentPhaseId = phaseId;
+        updateViewId();
+    }
+
+    //the view gets restored or replaced (navigation) during a phase
+    public void endPhase()
+    {
+        updateViewId();
+    }
+
+    private void updateViewId()
+    {
+        UIViewRoot viewRoot = this.facesContext.getViewRoot();
+        this.viewId = viewRoot != null ? viewRoot.getViewId() : null;
+    }
+
+    public FacesContext getFacesContext()
+    {
+        return this.facesContext;
+    }
+
+    public String getViewId()
+    {
+        return this.viewId;
+    }
+
+    public boolean isPostback()
+    {
+        if(this.postback == null)
+        {
+            //the render-kit is only available if there is a view
+            RenderKit renderKit = this.facesContext.getViewRoot() != null ? this.facesContext.getRenderKit() : null;
+
+            if(renderKit == null)
+            {
+                return false;
+            }
+            this.postback = renderKit.getResponseStateManager().isPostback(this.facesContext);
+        }
+        return this.postback;
+    }
+
+    public boolean isPartialRequest()
+    {
+        if(this.partialRequest == null)
+        {
+            ExternalContext externalContext = this.facesContext.getExternalContext();
+
+            this.partialRequest =
+                    PARTIAL_AJAX_REQUEST.equals(externalContext.getRequestHeaderMap().get(FACES_REQUEST_HEADER)) ||
+                    externalContext.getRequestParameterMap().containsKey(A4J_REQUEST_PARAMETER);
+        }
+        return this.partialRequest;
+    }
+
+    public PhaseId getCurrentPhaseId()
+    {
+        return this.currentPhaseId;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "request of " + this.viewId + " (" + this.currentPhaseId + ")";
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util.BeanManagerProvider;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.PassivationCapable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bean instances of one view
+ */
+class ViewBeanStorage implements Serializable
+{
+    private static final long serialVersionUID = -4787367383372419584L;
+
+    private static final Logger LOGGER = Logger.getLogger(ViewBeanStorage.class.getName());
+
+    //the key is the id of the passivation-capable bean
+    private final Map<String, ViewScopedInstance> instances = new HashMap<String, ViewScopedInstance>();
+
+    //the statistics are per node -> after a fail-over the view gets recorded again by the current node
+    private transient boolean recorded;
+
+    private transient long estimatedSize;
+
+    synchronized <T> T getInstance(Contextual<T> contextual)
+    {
+        ViewScopedInstance viewScopedInstance = this.instances.get(getKey(contextual));
+
+        if(viewScopedInstance == null)
+        {
+            return null;
+        }
+        //noinspection unchecked
+        return (T)viewScopedInstance.instance;
+    }
+
+    synchronized <T> T getOrCreateInstance(Contextual<T> contextual,
+                                           CreationalContext<T> creationalContext,
+                                           ViewScopeStatisticsRecorder statisticsRecorder)
+    {
+        T result = getInstance(contextual);
+
+        if(result != null || creationalContext == null)
+        {
+            return result;
+        }
+
+        result = contextual.create(creationalContext);
+
+        String beanId = getKey(contextual);
+        this.instances.put(beanId, new ViewScopedInstance(beanId, contextual, result, creationalContext));
+
+        if(this.recorded && statisticsRecorder != null)
+        {
+            statisticsRecorder.instancesCreated(1);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the view and its instances to the statistics of the current node (once).
+     */
+    synchronized void record(ViewScopeStatisticsRecorder statisticsRecorder)
+    {
+        if(this.recorded || statisticsRecorder == null)
+        {
+            return;
+        }
+
+        this.recorded = true;
+        statisticsRecorder.viewCreated();
+        statisticsRecorder.instancesCreated(this.instances.size());
+    }
+
+    /**
+     * @return the difference to the previous estimation
+     */
+    synchronized long estimateSize()
+    {
+        if(!this.recorded)
+        {
+            return 0;
+        }
+
+        ByteCountingOutputStream byteCountingOutputStream = new ByteCountingOutputStream();
+
+        try
+        {
+            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteCountingOutputStream);
+
+            for(ViewScopedInstance viewScopedInstance : this.instances.values())
+            {
+                objectOutputStream.writeObject(viewScopedInstance.instance);
+            }
+            objectOutputStream.close();
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.FINE, "the size of view-scoped beans can't be estimated", e);
+            return 0;
+        }
+
+        long delta = byteCountingOutputStream.count - this.estimatedSize;
+        this.estimatedSize = byteCountingOutputStream.count;
+        return delta;
+    }
+
+    synchronized void destroy(ViewScopeStatisticsRecorder statisticsRecorder)
+    {
+        //only the values recorded by this node are removed from the statistics
+        if(this.recorded && statisticsRecorder != null)
+        {
+            statisticsRecorder.viewDestroyed(this.instances.size(), this.estimatedSize);
+        }
+        this.recorded = false;
+        this.estimatedSize = 0;
+
+        for(ViewScopedInstance viewScopedInstance : this.instances.values())
+        {
+            try
+            {
+                Contextual contextual = viewScopedInstance.getContextual();
+
+                if(contextual == null)
+                {
+                    LOGGER.warning("the bean " + viewScopedInstance.beanId + " isn't available any longer - " +
+                            "its view-scoped instance can't be destroyed");
+                    continue;
+                }
+
+                //noinspection unchecked
+                contextual.destroy(viewScopedInstance.instance, viewScopedInstance.creationalContext);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.log(Level.WARNING, "failed to destroy a view-scoped bean", e);
+            }
+        }
+        this.instances.clear();
+    }
+
+    //the id is stable after a deserialization of the session - see ViewScopeExtension#checkPassivationCapability
+    private String getKey(Contextual contextual)
+    {
+        if(!(contextual instanceof PassivationCapable))
+        {
+            throw new IllegalStateException(contextual + " is view-scoped but not passivation-capable");
+        }
+        return ((PassivationCapable)contextual).getId();
+    }
+
+    /**
+     * Just the id of the bean is serialized - the bean itself is looked up again after a deserialization.
+     */
+    private static class ViewScopedInstance implements Serializable
+    {
+        private static final long serialVersionUID = 2836483561367593164L;
+
+        private final String beanId;
+
+        private transient Contextual contextual;
+
+        private final Object instance;
+
+        private final CreationalContext creationalContext;
+
+        private ViewScopedInstance(String beanId,
+                                   Contextual contextual,
+                                   Object instance,
+                                   CreationalContext creationalContext)
+        {
+            this.beanId = beanId;
+            this.contextual = contextual;
+            this.instance = instance;
+            this.creationalContext = creationalContext;
+        }
+
+        //null if the bean isn't available after a deserialization (e.g. on a node with a different deployment)
+        private Contextual getContextual()
+        {
+            if(this.contextual == null)
+            {
+                this.contextual = BeanManagerProvider.getBeanManager().getPassivationCapableBean(this.beanId);
+            }
+            return this.contextual;
+        }
+    }
+
+    private static class ByteCountingOutputStream extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write(int b)
+        {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length)
+        {
+            this.count += length;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.scope.ViewScoped;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeforeShutdown;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.PassivationCapable;
+import javax.enterprise.inject.spi.ProcessBean;
+
+public class ViewScopeExtension implements Extension
+{
+    private ViewScopeStatisticsRecorder viewScopeStatisticsRecorder;
+
+    private ViewScopedContext viewScopedContext;
+
+    public void registerViewScopedContext(@Observes AfterBeanDiscovery afterBeanDiscovery)
+    {
+        this.viewScopeStatisticsRecorder = new ViewScopeStatisticsRecorder();
+        this.viewScopedContext = new ViewScopedContext(this.viewScopeStatisticsRecorder);
+        afterBeanDiscovery.addContext(this.viewScopedContext);
+    }
+
+    //the view-scope is stored in the session -> the beans are looked up via their id after a deserialization
+    public void checkPassivationCapability(@Observes ProcessBean processBean)
+    {
+        Bean bean = processBean.getBean();
+
+        if(ViewScoped.class.equals(bean.getScope()) && !(bean instanceof PassivationCapable))
+        {
+            processBean.addDefinitionError(new IllegalStateException("@" + ViewScoped.class.getName() +
+                    " requires a passivation-capable bean: " + bean));
+        }
+    }
+
+    public void registerViewScopeStatistics(@Observes AfterDeploymentValidation afterDeploymentValidation)
+    {
+        this.viewScopeStatisticsRecorder.registerMBean();
+    }
+
+    public void unregisterViewScopeStatistics(@Observes BeforeShutdown beforeShutdown)
+    {
+        if(this.viewScopeStatisticsRecorder != null)
+        {
+            this.viewScopeStatisticsRecorder.unregisterMBean();
+        }
+    }
+
+    public ViewScopeStatisticsRecorder getViewScopeStatisticsRecorder()
+    {
+        return this.viewScopeStatisticsRecorder;
+    }
+
+    ViewScopedContext getViewScopedContext()
+    {
+        return this.viewScopedContext;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.AfterPhase;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.annotation.BeforePhase;
+
+import javax.enterprise.event.Observes;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Destroys the view-scoped beans as soon as a different view gets rendered or the request gets redirected
+ */
+public class ViewScopeLifecycleObserver
+{
+    private static final String RESTORED_VIEW_KEY = ViewScopeLifecycleObserver.class.getName() + ":restoredViewKey";
+
+    private static final String LOCATION_HEADER = "Location";
+
+    @Inject
+    private ViewScopeExtension viewScopeExtension;
+
+    public void rememberRestoredView(@Observes @AfterPhase(PhaseId.RESTORE_VIEW) PhaseEvent phaseEvent)
+    {
+        FacesContext facesContext = phaseEvent.getFacesContext();
+        String viewKey = getViewScopedContext().getViewKey(facesContext.getViewRoot());
+
+        if(viewKey != null)
+        {
+            facesContext.getExternalContext().getRequestMap().put(RESTORED_VIEW_KEY, viewKey);
+        }
+    }
+
+    public void destroyPreviousView(@Observes @BeforePhase(PhaseId.RENDER_RESPONSE) PhaseEvent phaseEvent)
+    {
+        destroyLeftView(phaseEvent.getFacesContext());
+    }
+
+    //e.g. post-redirect-get - the rendering of the response (and therefore destroyPreviousView) is skipped
+    public void destroyViewOfCompletedResponse(@Observes @AfterPhase(PhaseId.ANY_PHASE) PhaseEvent phaseEvent)
+    {
+        FacesContext facesContext = phaseEvent.getFacesContext();
+
+        if(facesContext.getResponseComplete())
+        {
+            destroyLeftView(facesContext);
+        }
+    }
+
+    public void estimateRetainedSize(@Observes @AfterPhase(PhaseId.RENDER_RESPONSE) PhaseEvent phaseEvent)
+    {
+        FacesContext facesContext = phaseEvent.getFacesContext();
+        ViewScopedContext viewScopedContext = getViewScopedContext();
+
+        if(!viewScopedContext.isSizeEstimationEnabled(facesContext))
+        {
+            return;
+        }
+
+        ViewBeanStorage viewBeanStorage = viewScopedContext.getViewBeanStorage(
+                facesContext, viewScopedContext.getViewKey(facesContext.getViewRoot()));
+
+        if(viewBeanStorage != null)
+        {
+            viewScopedContext.estimateSize(viewBeanStorage);
+        }
+    }
+
+    //handled once per request
+    private void destroyLeftView(FacesContext facesContext)
+    {
+        String restoredViewKey =
+                (String)facesContext.getExternalContext().getRequestMap().remove(RESTORED_VIEW_KEY);
+
+        if(restoredViewKey == null)
+        {
+            return;
+        }
+
+        ViewScopedContext viewScopedContext = getViewScopedContext();
+
+        //a redirect always leads to a new view (even if it has the same view-id)
+        if(isRedirect(facesContext) ||
+                !restoredViewKey.equals(viewScopedContext.getViewKey(facesContext.getViewRoot())))
+        {
+            viewScopedContext.destroyView(facesContext, restoredViewKey);
+        }
+    }
+
+    private boolean isRedirect(FacesContext facesContext)
+    {
+        Object response = facesContext.getExternalContext().getResponse();
+
+        return response instanceof HttpServletResponse &&
+                ((HttpServletResponse)response).containsHeader(LOCATION_HEADER);
+    }
+
+    private ViewScopedContext getViewScopedContext()
+    {
+        return this.viewScopeExtension.getViewScopedContext();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.scope.ViewScopeStatistics;
+
+import javax.enterprise.inject.Typed;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Typed()
+public class ViewScopeStatisticsRecorder implements ViewScopeStatistics, ViewScopeStatisticsRecorderMBean
+{
+    private static final Logger LOGGER = Logger.getLogger(ViewScopeStatisticsRecorder.class.getName());
+
+    private final AtomicLong liveViewCount = new AtomicLong();
+
+    private final AtomicLong liveInstanceCount = new AtomicLong();
+
+    private final AtomicLong estimatedRetainedSize = new AtomicLong();
+
+    private ObjectName objectName;
+
+    void viewCreated()
+    {
+        this.liveViewCount.incrementAndGet();
+    }
+
+    void viewDestroyed(int instanceCount, long estimatedSize)
+    {
+        this.liveViewCount.decrementAndGet();
+        this.liveInstanceCount.addAndGet(-instanceCount);
+        this.estimatedRetainedSize.addAndGet(-estimatedSize);
+    }
+
+    void instancesCreated(int instanceCount)
+    {
+        this.liveInstanceCount.addAndGet(instanceCount);
+    }
+
+    void estimatedSizeChanged(long delta)
+    {
+        this.estimatedRetainedSize.addAndGet(delta);
+    }
+
+    public long getLiveViewCount()
+    {
+        return this.liveViewCount.get();
+    }
+
+    public long getLiveInstanceCount()
+    {
+        return this.liveInstanceCount.get();
+    }
+
+    public long getEstimatedRetainedSize()
+    {
+        return this.estimatedRetainedSize.get();
+    }
+
+    public void registerMBean()
+    {
+        try
+        {
+            this.objectName = new ObjectName(
+                    "org.apache.myfaces.extensions.cdi:type=ViewScope,id=" + System.identityHashCode(this));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+        }
+        catch (Exception e)
+        {
+            this.objectName = null;
+            LOGGER.log(Level.WARNING, "registration of the view-scope mbean failed", e);
+        }
+    }
+
+    public void unregisterMBean()
+    {
+        if(this.objectName == null)
+        {
+            return;
+        }
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        }
+        catch (Exception e)
+        {
+            LOGGER.log(Level.WARNING, "unregistration of the view-scope mbean failed", e);
+        }
+        this.objectName = null;
+    }
+}
@@ -16,11 +16,13 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.config;
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
 
-interface InternalKeyAwareConfigEntryResolver<K, V>
+public interface ViewScopeStatisticsRecorderMBean
 {
-    V resolveValue();
-    
-    boolean isResponsibleFor(K key);
+    long getLiveViewCount();
+
+    long getLiveInstanceCount();
+
+    long getEstimatedRetainedSize();
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import javax.servlet.http.HttpSessionBindingEvent;
+import javax.servlet.http.HttpSessionBindingListener;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Session-wide storage of the view-scoped beans - only the most recently used views are kept
+ */
+class ViewScopeStorage implements HttpSessionBindingListener, Serializable
+{
+    private static final long serialVersionUID = 6183914420569370329L;
+
+    static final String STORAGE_KEY = ViewScopeStorage.class.getName();
+
+    private final int maxViews;
+
+    //access-ordered to evict the least recently used view
+    private final LinkedHashMap<String, ViewBeanStorage> viewBeanStorages =
+            new LinkedHashMap<String, ViewBeanStorage>(16, 0.75f, true);
+
+    private long viewCounter;
+
+    private transient ViewScopeStatisticsRecorder statisticsRecorder;
+
+    ViewScopeStorage(int maxViews)
+    {
+        this.maxViews = maxViews;
+    }
+
+    void setStatisticsRecorder(ViewScopeStatisticsRecorder statisticsRecorder)
+    {
+        this.statisticsRecorder = statisticsRecorder;
+    }
+
+    synchronized String createViewKey()
+    {
+        return Long.toString(++this.viewCounter, Character.MAX_RADIX);
+    }
+
+    synchronized ViewBeanStorage getViewBeanStorage(String viewKey, boolean create)
+    {
+        ViewBeanStorage result = this.viewBeanStorages.get(viewKey);
+
+        if(result != null || !create)
+        {
+            if(result != null)
+            {
+                //e.g. the first access after a session fail-over
+                result.record(this.statisticsRecorder);
+            }
+            return result;
+        }
+
+        result = new ViewBeanStorage();
+        this.viewBeanStorages.put(viewKey, result);
+        result.record(this.statisticsRecorder);
+
+        Iterator<Map.Entry<String, ViewBeanStorage>> iterator = this.viewBeanStorages.entrySet().iterator();
+        while(this.viewBeanStorages.size() > this.maxViews && iterator.hasNext())
+        {
+            ViewBeanStorage eldestViewBeanStorage = iterator.next().getValue();
+            iterator.remove();
+            destroy(eldestViewBeanStorage);
+        }
+        return result;
+    }
+
+    synchronized void destroyView(String viewKey)
+    {
+        ViewBeanStorage viewBeanStorage = this.viewBeanStorages.remove(viewKey);
+
+        if(viewBeanStorage != null)
+        {
+            destroy(viewBeanStorage);
+        }
+    }
+
+    synchronized void destroyAllViews()
+    {
+        for(ViewBeanStorage viewBeanStorage : this.viewBeanStorages.values())
+        {
+            destroy(viewBeanStorage);
+        }
+        this.viewBeanStorages.clear();
+    }
+
+    public void valueBound(HttpSessionBindingEvent httpSessionBindingEvent)
+    {
+    }
+
+    public void valueUnbound(HttpSessionBindingEvent httpSessionBindingEvent)
+    {
+        destroyAllViews();
+    }
+
+    private void destroy(ViewBeanStorage viewBeanStorage)
+    {
+        viewBeanStorage.destroy(this.statisticsRecorder);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.scope.view;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.WebXmlParameterNames;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.scope.ViewScoped;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * JSF 1.2 has no view-map - the view-root just keeps a small key of the view and the beans are stored in the session
+ */
+class ViewScopedContext implements Context
+{
+    private static final Logger LOGGER = Logger.getLogger(ViewScopedContext.class.getName());
+
+    private static final String VIEW_KEY_ATTRIBUTE = "org.apache.myfaces.extensions.cdi.VIEW_KEY";
+
+    private static final int DEFAULT_MAX_VIEWS = 20;
+
+    private final ViewScopeStatisticsRecorder statisticsRecorder;
+
+    //-1 as long as the configured value wasn't read
+    private volatile int maxViews = -1;
+
+    private volatile Boolean sizeEstimationEnabled;
+
+    ViewScopedContext(ViewScopeStatisticsRecorder statisticsRecorder)
+    {
+        this.statisticsRecorder = statisticsRecorder;
+    }
+
+    public Class<? extends Annotation> getScope()
+    {
+        return ViewScoped.class;
+    }
+
+    public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        FacesContext facesContext = getActiveFacesContext();
+        UIViewRoot viewRoot = facesContext.getViewRoot();
+
+        String viewKey = getViewKey(viewRoot);
+        ViewScopeStorage viewScopeStorage = getViewScopeStorage(facesContext.getExternalContext(), true);
+
+        if(viewKey == null)
+        {
+            viewKey = viewScopeStorage.createViewKey();
+            viewRoot.getAttributes().put(VIEW_KEY_ATTRIBUTE, viewKey);
+        }
+
+        return viewScopeStorage.getViewBeanStorage(viewKey, true)
+                .getOrCreateInstance(contextual, creationalContext, this.statisticsRecorder);
+    }
+
+    public <T> T get(Contextual<T> contextual)
+    {
+        FacesContext facesContext = getActiveFacesContext();
+        ViewBeanStorage viewBeanStorage = getViewBeanStorage(facesContext, getViewKey(facesContext.getViewRoot()));
+
+        if(viewBeanStorage == null)
+        {
+            return null;
+        }
+        return viewBeanStorage.getInstance(contextual);
+    }
+
+    public boolean isActive()
+    {
+        FacesContext facesContext = FacesContext.getCurrentInstance();
+        return facesContext != null && facesContext.getViewRoot() != null;
+    }
+
+    String getViewKey(UIViewRoot viewRoot)
+    {
+        if(viewRoot == null)
+        {
+            return null;
+        }
+        return (String)viewRoot.getAttributes().get(VIEW_KEY_ATTRIBUTE);
+    }
+
+    ViewBeanStorage getViewBeanStorage(FacesContext facesContext, String viewKey)
+    {
+        if(viewKey == null)
+        {
+            return null;
+        }
+
+        ViewScopeStorage viewScopeStorage = getViewScopeStorage(facesContext.getExternalContext(), false);
+
+        if(viewScopeStorage == null)
+        {
+            return null;
+        }
+        return viewScopeStorage.getViewBeanStorage(viewKey, false);
+    }
+
+    void destroyView(FacesContext facesContext, String viewKey)
+    {
+        ViewScopeStorage viewScopeStorage = getViewScopeStorage(facesContext.getExternalContext(), false);
+
+        if(viewScopeStorage != null)
+        {
+            viewScopeStorage.destroyView(viewKey);
+        }
+    }
+
+    void estimateSize(ViewBeanStorage viewBeanStorage)
+    {
+        this.statisticsRecorder.estimatedSizeChanged(viewBeanStorage.estimateSize());
+    }
+
+    boolean isSizeEstimationEnabled(FacesContext facesContext)
+    {
+        Boolean result = this.sizeEstimationEnabled;
+
+        if(result == null)
+        {
+            String value = facesContext.getExternalContext()
+                    .getInitParameter(WebXmlParameterNames.VIEW_SCOPE_SIZE_ESTIMATION_PARAMETER_NAME);
+
+            result = value != null && Boolean.valueOf(value.trim());
+            this.sizeEstimationEnabled = result;
+        }
+        return result;
+    }
+
+    private ViewScopeStorage getViewScopeStorage(ExternalContext externalContext, boolean create)
+    {
+        Object session = externalContext.getSession(create);
+
+        if(session == null)
+        {
+            return null;
+        }
+
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+        ViewScopeStorage result;
+
+        synchronized (session)
+        {
+            result = (ViewScopeStorage)sessionMap.get(ViewScopeStorage.STORAGE_KEY);
+
+            if(result == null && create)
+            {
+                result = new ViewScopeStorage(getMaxViews(externalContext));
+                sessionMap.put(ViewScopeStorage.STORAGE_KEY, result);
+            }
+        }
+
+        if(result != null)
+        {
+            //transient - has to be restored e.g. after a session fail-over
+            result.setStatisticsRecorder(this.statisticsRecorder);
+        }
+        return result;
+    }
+
+    private FacesContext getActiveFacesContext()
+    {
+        FacesContext facesContext = FacesContext.getCurrentInstance();
+
+        if(facesContext == null || facesContext.getViewRoot() == null)
+        {
+            throw new ContextNotActiveException("no view available for the scope " + ViewScoped.class.getName());
+        }
+        return facesContext;
+    }
+
+    private int getMaxViews(ExternalContext externalContext)
+    {
+        int result = this.maxViews;
+
+        if(result < 0)
+        {
+            result = parseMaxViews(
+                    externalContext.getInitParameter(WebXmlParameterNames.VIEW_SCOPE_MAX_VIEWS_PARAMETER_NAME));
+            this.maxViews = result;
+        }
+        return result;
+    }
+
+    private int parseMaxViews(String value)
+    {
+        if(value == null || "".equals(value.trim()))
+        {
+            return DEFAULT_MAX_VIEWS;
+        }
+
+        try
+        {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            LOGGER.warning("invalid value for " + WebXmlParameterNames.VIEW_SCOPE_MAX_VIEWS_PARAMETER_NAME +
+                    ": " + value + " - " + DEFAULT_MAX_VIEWS + " is used");
+            return DEFAULT_MAX_VIEWS;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.util;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeShutdown;
+import javax.enterprise.inject.spi.Extension;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides the {@link BeanManager} of the current application to artifacts which aren't created by cdi
+ * (e.g. phase-listeners).
+ */
+public class BeanManagerProvider implements Extension
+{
+    private static final ConcurrentMap<ClassLoader, BeanManager> BEAN_MANAGERS =
+            new ConcurrentHashMap<ClassLoader, BeanManager>();
+
+    public void setBeanManager(@Observes AfterBeanDiscovery afterBeanDiscovery, BeanManager beanManager)
+    {
+        BEAN_MANAGERS.put(getClassLoader(), beanManager);
+    }
+
+    public void cleanupStoredBeanManager(@Observes BeforeShutdown beforeShutdown)
+    {
+        BEAN_MANAGERS.remove(getClassLoader());
+    }
+
+    public static BeanManager getBeanManager()
+    {
+        BeanManager beanManager = BEAN_MANAGERS.get(getClassLoader());
+
+        if(beanManager == null)
+        {
+            throw new IllegalStateException("no bean-manager available for the current application");
+        }
+        return beanManager;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public static <T> T getContextualReference(Class<T> type)
+    {
+        BeanManager beanManager = getBeanManager();
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(type));
+
+        if(bean == null)
+        {
+            throw new IllegalStateException("no bean found for type: " + type.getName());
+        }
+        return (T)beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+    }
+
+    private static ClassLoader getClassLoader()
+    {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        if(classLoader == null)
+        {
+            return BeanManagerProvider.class.getClassLoader();
+        }
+        return classLoader;
+    }
+}
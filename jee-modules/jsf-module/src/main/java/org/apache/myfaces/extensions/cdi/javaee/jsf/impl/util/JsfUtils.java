@@ -36,10 +36,18 @@ public class JsfUtils
 {
     public static String getProjectStageName()
     {
+        FacesContext facesContext = FacesContext.getCurrentInstance();
+
+        //e.g. during the bootstrapping
+        if(facesContext == null)
+        {
+            return null;
+        }
+
         try
         {
             //TODO
-            return FacesContext.getCurrentInstance().getExternalContext()
+            return facesContext.getExternalContext()
                     .getInitParameter(WebXmlParameterNames.PROJECT_STAGE_PARAMETER_NAME);
         }
         catch (Throwable t)
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.listener.phase;
+
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.listener.phase.PhaseId;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SerializedPhaseBindingTest
+{
+    //stream header and class-descriptor of SerializedPhaseBinding + block-data with the phase code (1 byte)
+    private static final int SERIALIZED_SIZE = 112;
+
+    @Test
+    public void beforePhaseBindingIsResolvedToSharedLiteral() throws Exception
+    {
+        for(PhaseId phaseId : PhaseId.values())
+        {
+            byte[] serialized = serialize(BeforePhaseBinding.of(phaseId));
+
+            assertEquals(SERIALIZED_SIZE, serialized.length);
+            assertSame(BeforePhaseBinding.of(phaseId), deserialize(serialized));
+        }
+    }
+
+    @Test
+    public void afterPhaseBindingIsResolvedToSharedLiteral() throws Exception
+    {
+        for(PhaseId phaseId : PhaseId.values())
+        {
+            byte[] serialized = serialize(AfterPhaseBinding.of(phaseId));
+
+            assertEquals(SERIALIZED_SIZE, serialized.length);
+            assertSame(AfterPhaseBinding.of(phaseId), deserialize(serialized));
+        }
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void unknownPhaseCodeIsRejected() throws Exception
+    {
+        byte[] serialized = serialize(BeforePhaseBinding.of(PhaseId.RESTORE_VIEW));
+
+        //the phase code is followed by the end of the block-data
+        serialized[serialized.length - 2] = (byte)PhaseId.values().length;
+        deserialize(serialized);
+    }
+
+    private static byte[] serialize(Object object) throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(result);
+        objectOutputStream.writeObject(object);
+        objectOutputStream.close();
+        return result.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serialized) throws IOException, ClassNotFoundException
+    {
+        return new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.myfaces.extensions.cdi.javaee.jsf.impl.project.stage;
+
+import org.apache.myfaces.extensions.cdi.core.api.project.stage.ProjectStage;
+import org.apache.myfaces.extensions.cdi.javaee.jsf.api.project.stage.JsfProjectStage;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SerializedProjectStageTest
+{
+    private static final String[] KNOWN_PROJECT_STAGES = {"Production", "Development", "UnitTest", "SystemTest"};
+
+    private static final String CUSTOM_PROJECT_STAGE = "Staging";
+
+    //stream header and class-descriptor of the compact form + block-data with the stage code (1 byte)
+    private static final int SERIALIZED_PROJECT_STAGE_SIZE = 117;
+
+    private static final int SERIALIZED_JSF_PROJECT_STAGE_SIZE = 137;
+
+    //custom stages are written with their name (utf: length + characters)
+    private static final int CUSTOM_PROJECT_STAGE_OVERHEAD = 2 + CUSTOM_PROJECT_STAGE.length();
+
+    @Test
+    public void knownProjectStageIsResolvedToSharedInstance() throws Exception
+    {
+        for(String projectStageName : KNOWN_PROJECT_STAGES)
+        {
+            ProjectStage projectStage = ProjectStage.valueOf(projectStageName);
+            byte[] serialized = serialize(projectStage);
+
+            assertEquals(SERIALIZED_PROJECT_STAGE_SIZE, serialized.length);
+            assertSame(projectStage, deserialize(serialized));
+        }
+    }
+
+    @Test
+    public void customProjectStageIsResolvedToSharedInstance() throws Exception
+    {
+        ProjectStage projectStage = ProjectStage.valueOf(CUSTOM_PROJECT_STAGE);
+        byte[] serialized = serialize(projectStage);
+
+        assertEquals(SERIALIZED_PROJECT_STAGE_SIZE + CUSTOM_PROJECT_STAGE_OVERHEAD, serialized.length);
+        assertSame(projectStage, deserialize(serialized));
+    }
+
+    @Test
+    public void knownJsfProjectStageIsResolvedToSharedInstance() throws Exception
+    {
+        for(String projectStageName : KNOWN_PROJECT_STAGES)
+        {
+            JsfProjectStage jsfProjectStage = createJsfProjectStage(projectStageName);
+            byte[] serialized = serialize(jsfProjectStage);
+
+            assertEquals(SERIALIZED_JSF_PROJECT_STAGE_SIZE, serialized.length);
+            assertSame(jsfProjectStage, deserialize(serialized));
+        }
+    }
+
+    @Test
+    public void customJsfProjectStageIsResolvedToSharedInstance() throws Exception
+    {
+        JsfProjectStage jsfProjectStage = createJsfProjectStage(CUSTOM_PROJECT_STAGE);
+        byte[] serialized = serialize(jsfProjectStage);
+
+        assertEquals(SERIALIZED_JSF_PROJECT_STAGE_SIZE + CUSTOM_PROJECT_STAGE_OVERHEAD, serialized.length);
+        assertSame(jsfProjectStage, deserialize(serialized));
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void unknownProjectStageCodeIsRejected() throws Exception
+    {
+        deserialize(replaceStageCode(serialize(ProjectStage.valueOf("Development"))));
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void unknownJsfProjectStageCodeIsRejected() throws Exception
+    {
+        deserialize(replaceStageCode(serialize(createJsfProjectStage("Development"))));
+    }
+
+    private static JsfProjectStage createJsfProjectStage(String projectStageName)
+    {
+        return new JsfProjectStageBuilder().createJsfProjectStage(ProjectStage.valueOf(projectStageName));
+    }
+
+    //the stage code of a known stage is followed by the end of the block-data
+    private static byte[] replaceStageCode(byte[] serialized)
+    {
+        serialized[serialized.length - 2] = 42;
+        return serialized;
+    }
+
+    private static byte[] serialize(Object object) throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(result);
+        objectOutputStream.writeObject(object);
+        objectOutputStream.close();
+        return result.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serialized) throws IOException, ClassNotFoundException
+    {
+        return new ObjectInputStream(new ByteArrayInputStream(serialized)).readObject();
+    }
+}